@@ -1,15 +1,32 @@
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class ABB<K, V> implements IMapeamento<K, V>{
 
+	/**
+	 * Estratégias de balanceamento disponíveis na hierarquia de árvores binárias de busca.
+	 * AVL mantém a menor altura, ao custo de mais rotações nas escritas; rubro-negra e treap
+	 * fazem menos rotações por inserção ou remoção, com árvores um pouco mais altas.
+	 */
+	public enum Balanceamento { NENHUM, AVL, RUBRO_NEGRA, TREAP }
+
 	private No<K, V> raiz; // referência à raiz da árvore.
 	private Comparator<K> comparador; //comparador empregado para definir "menores" e "maiores".
 	private int tamanho;
 	private long comparacoes;
 	private long inicio;
 	private long termino;
+	private final LongAdder rotacoes = new LongAdder(); // total de rotações desde a criação da árvore; as operações de conjunto da AVL rotacionam em paralelo.
+	private FiltroBloom<K> filtro; // filtro opcional para descartar pesquisas por chaves ausentes sem descer na árvore.
+	private boolean[] recusadas;   // durante uma inserção em lote, as entradas cujas chaves já estavam na árvore.
 	
 	/**
 	 * Método auxiliar para inicialização da árvore binária de busca.
@@ -43,6 +60,21 @@ public class ABB<K, V> implements IMapeamento<K, V>{
 	    init(comparador);
 	}
 
+	/**
+	 * Cria uma árvore binária de busca vazia com a estratégia de balanceamento informada.
+	 * @param balanceamento a estratégia de balanceamento da nova árvore.
+	 * @param comparador o comparador a ser utilizado para organizar os elementos da árvore.
+	 * @return a nova árvore.
+	 */
+	public static <K, V> ABB<K, V> criar(Balanceamento balanceamento, Comparator<K> comparador) {
+		return switch (balanceamento) {
+			case NENHUM -> new ABB<>(comparador);
+			case AVL -> new AVL<>(comparador);
+			case RUBRO_NEGRA -> new ArvoreRubroNegra<>(comparador);
+			case TREAP -> new Treap<>(comparador);
+		};
+	}
+
     /**
      * Construtor da classe.
      * Esse construtor cria uma nova árvore binária a partir de uma outra árvore binária de busca,
@@ -86,6 +118,34 @@ public class ABB<K, V> implements IMapeamento<K, V>{
 	public Boolean vazia() {
 	    return (this.raiz == null);
 	}
+
+	/**
+	 * @return a raiz da árvore, para as subclasses que precisam ajustá-la após inserções e remoções.
+	 */
+	protected No<K, V> getRaiz() {
+		return raiz;
+	}
+
+	/**
+	 * Substitui todo o conteúdo da árvore, para as subclasses que montam a árvore diretamente a partir de nós,
+	 * como as operações de conjunto da AVL. Se a árvore usa filtro de Bloom, as chaves da nova raiz são adicionadas a ele.
+	 * @param raiz a raiz da nova árvore.
+	 * @param tamanho a quantidade de nós a partir da nova raiz.
+	 */
+	protected void substituirConteudo(No<K, V> raiz, int tamanho) {
+		this.raiz = raiz;
+		this.tamanho = tamanho;
+		if (filtro != null)
+			adicionarAoFiltro(raiz);
+	}
+
+	/**
+	 * Cria o nó que armazenará um novo item. As subclasses que guardam dados de balanceamento
+	 * no nó (cor, prioridade) sobrescrevem este método.
+	 */
+	protected No<K, V> criarNo(K chave, V item) {
+		return new No<>(chave, item);
+	}
     
     @Override
     /**
@@ -94,9 +154,20 @@ public class ABB<K, V> implements IMapeamento<K, V>{
      * @return o valor associado à chave.
      */
 	public V pesquisar(K chave) {
+    	V procurado;
     	comparacoes = 0;
     	inicio = System.nanoTime();
-    	V procurado = pesquisar(raiz, chave);
+    	if (filtro != null && !filtro.talvezContenha(chave)) {
+    		termino = System.nanoTime();
+    		throw new NoSuchElementException("O item não foi localizado na árvore!");
+    	}
+    	try {
+    		procurado = pesquisar(raiz, chave);
+    	} catch (NoSuchElementException excecao) {
+    		if (filtro != null)
+    			filtro.registrarFalsoPositivo();
+    		throw excecao;
+    	}
     	termino = System.nanoTime();
     	return procurado;
 	}
@@ -140,9 +211,182 @@ public class ABB<K, V> implements IMapeamento<K, V>{
         /// Por fim, a raiz atual da árvore é atualizada, com a raiz retornada pelo método "inserir" recursivo.
         this.raiz = inserir(this.raiz, chave, item);
         tamanho++;
+        if (filtro != null)
+        	filtro.adicionar(chave);
         return tamanho;
     }
 
+    /**
+     * Insere, de uma só vez, todos os itens do lote.
+     * O lote é ordenado e incorporado à árvore em uma única descida: cada nó separa, por pesquisa binária,
+     * a parte do lote que vai para cada uma de suas sub-árvores; a parte que chega a uma sub-árvore vazia vira
+     * uma sub-árvore completa, e cada nó é religado às sub-árvores atualizadas por {@link #juntar}.
+     * Nenhum item é inserido se alguma chave do lote for repetida ou já estiver na árvore: nesse caso, raro,
+     * os itens já incorporados são retirados antes de a exceção ser lançada.
+     * @param lote os itens a serem inseridos.
+     * @return o tamanho atualizado da árvore.
+     * @throws IllegalArgumentException se o lote tiver chaves repetidas ou chaves já presentes na árvore.
+     */
+    public int inserirLote(Collection<Entrada<K, V>> lote) {
+
+    	Entrada<K, V>[] ordenadas = ordenarLote(lote);
+
+    	recusadas = null;
+    	raiz = inserirLote(raiz, ordenadas, 0, ordenadas.length);
+    	if (recusadas != null) {
+    		for (int i = 0; i < ordenadas.length; i++)
+    			if (!recusadas[i])
+    				raiz = remover(raiz, ordenadas[i].getChave());
+    		recusadas = null;
+    		throw new IllegalArgumentException("O item já foi inserido anteriormente na árvore.");
+    	}
+    	tamanho += ordenadas.length;
+    	if (filtro != null)
+    		for (Entrada<K, V> entrada : ordenadas)
+    			filtro.adicionar(entrada.getChave());
+    	return tamanho;
+    }
+
+    /**
+     * Ordena o lote pelas chaves.
+     * @return as entradas do lote, em ordem crescente de chave.
+     * @throws IllegalArgumentException se o lote tiver chaves repetidas.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected Entrada<K, V>[] ordenarLote(Collection<Entrada<K, V>> lote) {
+
+    	Entrada<K, V>[] ordenadas = lote.toArray(new Entrada[0]);
+
+    	Arrays.sort(ordenadas, (primeira, segunda) -> comparador.compare(primeira.getChave(), segunda.getChave()));
+    	for (int i = 1; i < ordenadas.length; i++)
+    		if (comparador.compare(ordenadas[i - 1].getChave(), ordenadas[i].getChave()) == 0)
+    			throw new IllegalArgumentException("O lote contém itens com a mesma chave.");
+    	return ordenadas;
+    }
+
+    /**
+     * Pesquisa binária no trecho ordenado do lote.
+     * @return a posição da primeira entrada com chave maior do que a informada, entre inicioLote e fimLote.
+     */
+    private int separarLote(K chave, Entrada<K, V>[] lote, int inicioLote, int fimLote) {
+
+    	int meio;
+
+    	while (inicioLote < fimLote) {
+    		meio = (inicioLote + fimLote) >>> 1;
+    		if (comparador.compare(lote[meio].getChave(), chave) <= 0)
+    			inicioLote = meio + 1;
+    		else
+    			fimLote = meio;
+    	}
+    	return inicioLote;
+    }
+
+    /**
+     * Método recursivo responsável por incorporar um trecho ordenado do lote à sub-árvore.
+     * Uma entrada cuja chave já está na árvore não é incorporada e fica marcada em {@code recusadas}.
+     * @return a raiz atualizada da sub-árvore.
+     */
+    private No<K, V> inserirLote(No<K, V> raizArvore, Entrada<K, V>[] lote, int inicioLote, int fimLote) {
+
+    	int separacao, fimEsquerda;
+
+    	if (inicioLote == fimLote)
+    		return raizArvore;
+    	if (raizArvore == null)
+    		return construir(lote, inicioLote, fimLote);
+    	if (fimLote - inicioLote == 1) {
+    		/// Uma única entrada para a sub-árvore: a inserção comum desce e reequilibra só o seu caminho.
+    		/// Ela lança a exceção antes de alterar qualquer nó, de modo que a sub-árvore continua válida.
+    		try {
+    			return inserir(raizArvore, lote[inicioLote].getChave(), lote[inicioLote].getValor());
+    		} catch (IllegalArgumentException excecao) {
+    			recusar(lote.length, inicioLote);
+    			return raizArvore;
+    		}
+    	}
+
+    	separacao = separarLote(raizArvore.getChave(), lote, inicioLote, fimLote);
+    	fimEsquerda = separacao;
+    	if (separacao > inicioLote && comparador.compare(lote[separacao - 1].getChave(), raizArvore.getChave()) == 0) {
+    		recusar(lote.length, separacao - 1);
+    		fimEsquerda--;
+    	}
+    	return juntar(inserirLote(raizArvore.getEsquerda(), lote, inicioLote, fimEsquerda), raizArvore,
+    			inserirLote(raizArvore.getDireita(), lote, separacao, fimLote));
+    }
+
+    private void recusar(int tamanhoLote, int posicao) {
+    	if (recusadas == null)
+    		recusadas = new boolean[tamanhoLote];
+    	recusadas[posicao] = true;
+    }
+
+    /**
+     * Constrói uma sub-árvore completa com as entradas do trecho ordenado do lote: a entrada do meio é a raiz.
+     */
+    private No<K, V> construir(Entrada<K, V>[] lote, int inicioLote, int fimLote) {
+
+    	int meio;
+    	No<K, V> raizArvore;
+
+    	if (inicioLote == fimLote)
+    		return null;
+    	meio = (inicioLote + fimLote) >>> 1;
+    	raizArvore = criarNo(lote[meio].getChave(), lote[meio].getValor());
+    	raizArvore.setEsquerda(construir(lote, inicioLote, meio));
+    	raizArvore.setDireita(construir(lote, meio + 1, fimLote));
+    	raizArvore.setAltura();
+    	return raizArvore;
+    }
+
+    /**
+     * Religa o nó às suas sub-árvores, cujas chaves são todas menores (esquerda) e maiores (direita) do que a dele.
+     * As subclasses balanceadas sobrescrevem este método para restaurar o balanceamento,
+     * qualquer que seja a diferença de altura entre as sub-árvores.
+     * @return a raiz da sub-árvore resultante.
+     */
+    protected No<K, V> juntar(No<K, V> esquerda, No<K, V> meio, No<K, V> direita) {
+    	meio.setEsquerda(esquerda);
+    	meio.setDireita(direita);
+    	meio.setAltura();
+    	return meio;
+    }
+
+    /**
+     * Associa à árvore um filtro de Bloom com as chaves já armazenadas.
+     * A partir daí, pesquisas por chaves que o filtro indica como ausentes falham sem descer na árvore.
+     * @param quantEsperada quantidade de chaves para a qual o filtro é dimensionado.
+     * @param taxaFalsosPositivos taxa de falsos positivos desejada com essa quantidade de chaves.
+     */
+    public void usarFiltroBloom(int quantEsperada, double taxaFalsosPositivos) {
+    	filtro = new FiltroBloom<>(quantEsperada, taxaFalsosPositivos);
+    	adicionarAoFiltro(raiz);
+    }
+
+    private void adicionarAoFiltro(No<K, V> raizArvore) {
+    	if (raizArvore != null) {
+    		filtro.adicionar(raizArvore.getChave());
+    		adicionarAoFiltro(raizArvore.getEsquerda());
+    		adicionarAoFiltro(raizArvore.getDireita());
+    	}
+    }
+
+    /**
+     * @return o filtro de Bloom associado à árvore, ou null se a árvore não usa filtro.
+     */
+    public FiltroBloom<K> getFiltroBloom() {
+    	return filtro;
+    }
+
+    /**
+     * Consulta apenas o filtro de Bloom, sem lançar exceção e sem descer na árvore.
+     * @return false se a chave certamente não está na árvore; true se talvez esteja (sempre true sem filtro).
+     */
+    public boolean talvezContenha(K chave) {
+    	return (filtro == null) || filtro.talvezContenha(chave);
+    }
+
     /**
      * Método recursivo responsável por adicionar um item à árvore.
      * @param raizArvore a raiz da árvore ou sub-árvore em que o item será adicionado.
@@ -157,7 +401,7 @@ public class ABB<K, V> implements IMapeamento<K, V>{
     	
         /// Se a raiz da árvore ou sub-árvore for null, a árvore/sub-árvore está vazia e então um novo item é inserido.
         if (raizArvore == null)
-            raizArvore = new No<>(chave, item);
+            raizArvore = criarNo(chave, item);
         else {
         	comparacao = comparador.compare(chave, raizArvore.getChave());
         
@@ -183,7 +427,220 @@ public class ABB<K, V> implements IMapeamento<K, V>{
         return raizArvore;
     }
 
-    @Override 
+    /**
+     * Método que encapsula a pesquisa recursiva, na árvore, de todos os itens
+     * cujas chaves estão compreendidas no intervalo informado (limites inclusos).
+     * Apenas as sub-árvores que podem conter chaves do intervalo são visitadas.
+     * @param chaveInicial o limite inferior do intervalo.
+     * @param chaveFinal o limite superior do intervalo.
+     * @return uma lista com os itens encontrados, em ordem crescente de chave. A lista pode estar vazia.
+     */
+    public Lista<V> pesquisarIntervalo(K chaveInicial, K chaveFinal) {
+    	Lista<V> encontrados = new Lista<>();
+    	comparacoes = 0;
+    	inicio = System.nanoTime();
+    	if (comparador.compare(chaveInicial, chaveFinal) <= 0)
+    		pesquisarIntervalo(raiz, chaveInicial, chaveFinal, encontrados);
+    	termino = System.nanoTime();
+    	return encontrados;
+    }
+
+    private void pesquisarIntervalo(No<K, V> raizArvore, K chaveInicial, K chaveFinal, Lista<V> encontrados) {
+
+    	int comparacaoInicial, comparacaoFinal;
+
+    	if (raizArvore == null)
+    		return;
+
+    	comparacoes++;
+    	comparacaoInicial = comparador.compare(chaveInicial, raizArvore.getChave());
+    	comparacaoFinal = comparador.compare(chaveFinal, raizArvore.getChave());
+
+    	/// Só há chaves do intervalo à esquerda se o limite inferior for menor do que a chave da raiz.
+    	if (comparacaoInicial < 0)
+    		pesquisarIntervalo(raizArvore.getEsquerda(), chaveInicial, chaveFinal, encontrados);
+    	if (comparacaoInicial <= 0 && comparacaoFinal >= 0)
+    		encontrados.inserirFinal(raizArvore.getItem());
+    	/// Só há chaves do intervalo à direita se o limite superior for maior do que a chave da raiz.
+    	if (comparacaoFinal > 0)
+    		pesquisarIntervalo(raizArvore.getDireita(), chaveInicial, chaveFinal, encontrados);
+    }
+
+    /**
+     * @return um divisor dos itens da árvore, em ordem crescente de chave, que se divide por sub-árvores
+     * (ver {@link DivisorArvore}). A árvore não deve ser alterada enquanto o divisor estiver em uso.
+     */
+    public Spliterator<V> spliterator() {
+    	return new DivisorArvore<>(raiz, tamanho);
+    }
+
+    /**
+     * @return um fluxo paralelo dos itens da árvore, para agregações sobre todo o conteúdo.
+     */
+    public Stream<V> fluxoParalelo() {
+    	return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Divisor (Spliterator) dos itens de uma árvore, em ordem crescente de chave.
+     * O que resta a percorrer é uma sequência de partes, cada uma um nó isolado ou uma sub-árvore inteira.
+     * Para dividir, a maior sub-árvore é trocada por (esquerda, nó, direita) enquanto tiver mais da metade dos itens;
+     * as primeiras partes da sequência, com cerca de metade dos itens, passam a outro divisor.
+     * Nem todas as árvores mantêm a altura dos nós, por isso o tamanho de uma sub-árvore é estimado a partir do tamanho
+     * da árvore, repartido igualmente entre os filhos a cada nível, e a divisão só depende de o nó ter filhos.
+     * Em uma árvore degenerada as estimativas erram, mas cada divisão faz no máximo {@value #EXPANSOES_MAXIMAS} trocas.
+     */
+    private static final class DivisorArvore<K, V> implements Spliterator<V> {
+
+    	private static final int EXPANSOES_MAXIMAS = 64;
+
+    	private No<K, V>[] partes;   // partes[quant - 1] é a próxima a ser percorrida.
+    	private boolean[] inteiras;  // indica se a parte é a sub-árvore inteira ou apenas o nó.
+    	private long[] tamanhos;     // tamanho estimado de cada parte.
+    	private int quant;
+    	private long estimativa;     // soma dos tamanhos estimados das partes.
+
+    	@SuppressWarnings({"unchecked", "rawtypes"})
+    	private DivisorArvore(No<K, V> raiz, long estimativa) {
+    		partes = new No[8];
+    		inteiras = new boolean[8];
+    		tamanhos = new long[8];
+    		if (raiz != null)
+    			empilhar(raiz, true, Math.max(estimativa, 1));
+    	}
+
+    	private void empilhar(No<K, V> no, boolean inteira, long tamanho) {
+    		if (quant == partes.length) {
+    			partes = Arrays.copyOf(partes, 2 * quant);
+    			inteiras = Arrays.copyOf(inteiras, 2 * quant);
+    			tamanhos = Arrays.copyOf(tamanhos, 2 * quant);
+    		}
+    		partes[quant] = no;
+    		inteiras[quant] = inteira;
+    		tamanhos[quant++] = tamanho;
+    		estimativa += tamanho;
+    	}
+
+    	/** @return o tamanho estimado da sub-árvore esquerda de uma sub-árvore com o tamanho informado; 0 se não houver. */
+    	private static long tamanhoDaEsquerda(No<?, ?> no, long tamanho) {
+    		if (no.getEsquerda() == null)
+    			return 0;
+    		return Math.max((no.getDireita() == null) ? tamanho - 1 : (tamanho - 1) / 2, 1);
+    	}
+
+    	/** @return o tamanho estimado da sub-árvore direita de uma sub-árvore com o tamanho informado; 0 se não houver. */
+    	private static long tamanhoDaDireita(No<?, ?> no, long tamanho) {
+    		if (no.getDireita() == null)
+    			return 0;
+    		return Math.max(tamanho - 1 - tamanhoDaEsquerda(no, tamanho), 1);
+    	}
+
+    	@Override
+    	public boolean tryAdvance(Consumer<? super V> acao) {
+
+    		No<K, V> no;
+    		long tamanho;
+
+    		while (quant > 0) {
+    			no = partes[--quant];
+    			partes[quant] = null;
+    			tamanho = tamanhos[quant];
+    			estimativa -= tamanho;
+    			if (inteiras[quant]) {
+    				/// Sub-árvore: a direita fica para depois do nó; se houver esquerda, ela vem antes dele.
+    				if (no.getDireita() != null)
+    					empilhar(no.getDireita(), true, tamanhoDaDireita(no, tamanho));
+    				if (no.getEsquerda() != null) {
+    					empilhar(no, false, 1);
+    					empilhar(no.getEsquerda(), true, tamanhoDaEsquerda(no, tamanho));
+    					continue;
+    				}
+    			}
+    			acao.accept(no.getItem());
+    			return true;
+    		}
+    		return false;
+    	}
+
+    	@Override
+    	public Spliterator<V> trySplit() {
+
+    		DivisorArvore<K, V> primeiras;
+    		long acumulado;
+    		int maior, corte;
+
+    		for (int expansoes = 0; ; expansoes++) {
+    			maior = -1;
+    			for (int i = 0; i < quant; i++)
+    				if (maior < 0 || tamanhos[i] > tamanhos[maior])
+    					maior = i;
+    			if (quant >= 2 && 2 * tamanhos[maior] <= estimativa)
+    				break;
+    			if (maior < 0 || !inteiras[maior] || expansoes == EXPANSOES_MAXIMAS
+    					|| (partes[maior].getEsquerda() == null && partes[maior].getDireita() == null)) {
+    				if (quant < 2)
+    					return null;
+    				break;
+    			}
+    			expandir(maior);
+    		}
+
+    		corte = quant;
+    		acumulado = 0;
+    		do {
+    			corte--;
+    			acumulado += tamanhos[corte];
+    		} while (corte > 1 && 2 * acumulado < estimativa);
+
+    		primeiras = new DivisorArvore<>(null, 0);
+    		for (int i = corte; i < quant; i++) {
+    			primeiras.empilhar(partes[i], inteiras[i], tamanhos[i]);
+    			partes[i] = null;
+    		}
+    		quant = corte;
+    		estimativa -= acumulado;
+    		return primeiras;
+    	}
+
+    	/** Troca a sub-árvore da posição informada pelas partes (direita, nó, esquerda), na ordem da pilha. */
+    	private void expandir(int posicao) {
+
+    		No<K, V> no = partes[posicao];
+    		long tamanho = tamanhos[posicao];
+    		int acrescimo = ((no.getDireita() != null) ? 1 : 0) + ((no.getEsquerda() != null) ? 1 : 0);
+
+    		for (int i = 0; i < acrescimo; i++)
+    			empilhar(null, false, 0);
+    		System.arraycopy(partes, posicao + 1, partes, posicao + 1 + acrescimo, quant - acrescimo - posicao - 1);
+    		System.arraycopy(inteiras, posicao + 1, inteiras, posicao + 1 + acrescimo, quant - acrescimo - posicao - 1);
+    		System.arraycopy(tamanhos, posicao + 1, tamanhos, posicao + 1 + acrescimo, quant - acrescimo - posicao - 1);
+    		estimativa -= tamanho;
+    		if (no.getDireita() != null)
+    			colocar(posicao++, no.getDireita(), true, tamanhoDaDireita(no, tamanho));
+    		colocar(posicao++, no, false, 1);
+    		if (no.getEsquerda() != null)
+    			colocar(posicao, no.getEsquerda(), true, tamanhoDaEsquerda(no, tamanho));
+    	}
+
+    	private void colocar(int posicao, No<K, V> no, boolean inteira, long tamanho) {
+    		partes[posicao] = no;
+    		inteiras[posicao] = inteira;
+    		tamanhos[posicao] = tamanho;
+    		estimativa += tamanho;
+    	}
+
+    	@Override
+    	public long estimateSize() {
+    		return estimativa;
+    	}
+
+    	@Override
+    	public int characteristics() {
+    		return ORDERED;
+    	}
+    }
+
+    @Override
     public String toString(){
     	return percorrer();
     }
@@ -315,6 +772,57 @@ public class ABB<K, V> implements IMapeamento<K, V>{
         return raizArvore;
     }
 
+	/**
+	 * Rotação simples à direita: o filho esquerdo de p passa a ser a raiz da sub-árvore.
+	 * @return a nova raiz da sub-árvore.
+	 */
+	protected No<K, V> rotacionarDireita(No<K, V> p) {
+
+		No<K, V> u;
+		No<K, V> filhoEsquerdaDireita;  // triângulo vermelho
+
+		u = p.getEsquerda();
+		filhoEsquerdaDireita = u.getDireita();
+
+		p.setEsquerda(filhoEsquerdaDireita);
+		u.setDireita(p);
+
+		p.setAltura();
+		u.setAltura();
+
+		rotacoes.increment();
+		return u;
+	}
+
+	/**
+	 * Rotação simples à esquerda: o filho direito de p passa a ser a raiz da sub-árvore.
+	 * @return a nova raiz da sub-árvore.
+	 */
+	protected No<K, V> rotacionarEsquerda(No<K, V> p) {
+
+		No<K, V> z;
+		No<K, V> filhoDireitaEsquerda;  // triângulo vermelho
+
+		z = p.getDireita();
+		filhoDireitaEsquerda = z.getEsquerda();
+
+		p.setDireita(filhoDireitaEsquerda);
+		z.setEsquerda(p);
+
+		p.setAltura();
+		z.setAltura();
+
+		rotacoes.increment();
+		return z;
+	}
+
+	/**
+	 * @return o total de rotações realizadas pelas inserções e remoções desde a criação da árvore.
+	 */
+	public long getRotacoes() {
+		return rotacoes.sum();
+	}
+
 	@Override
 	public int tamanho() {
 		return tamanho;
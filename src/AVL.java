@@ -1,22 +1,53 @@
 import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.function.Function;
 
 public class AVL<K, V> extends ABB<K, V> {
 
+	/**
+	 * Nas operações de conjunto, sub-árvores com pelo menos esta altura (ao menos algumas centenas de nós)
+	 * são processadas em paralelo; abaixo dela, o custo de criar uma tarefa supera o ganho.
+	 */
+	private static final int ALTURA_MINIMA_PARALELA = 10;
+
+	private enum Operacao { UNIAO, INTERSECAO, DIFERENCA }
+
+	/**
+	 * Resultado da divisão de uma sub-árvore por uma chave: as sub-árvores AVL com as chaves menores e maiores
+	 * e o nó com a própria chave, já desligado dos filhos, ou null se a chave não estava na sub-árvore.
+	 */
+	private static class Divisao<K, V> {
+		private No<K, V> menores;
+		private No<K, V> igual;
+		private No<K, V> maiores;
+
+		private Divisao(No<K, V> menores, No<K, V> igual, No<K, V> maiores) {
+			this.menores = menores;
+			this.igual = igual;
+			this.maiores = maiores;
+		}
+	}
+
+	private final Comparator<K> comparador;
+
 	/**
 	 *  Construtor da classe.
 	 *  Esse construtor cria uma nova árvore binária de busca AVL vazia.
 	 */
+    @SuppressWarnings("unchecked")
     public AVL() {
-        super();
+        this((Comparator<K>) Comparator.naturalOrder());
     }
     
     public AVL(Comparator<K> comparador) {
     	super(comparador);
+    	this.comparador = comparador;
     }
     
     public AVL(AVL<?, V> original, Function<V, K> funcaoChave, Comparator<K> comparador) {
     	super(original, funcaoChave, comparador);
+    	this.comparador = comparador;
     }
        
     /**
@@ -61,6 +92,321 @@ public class AVL<K, V> extends ABB<K, V> {
     	return balancear(super.remover(raizArvore, chaveRemover));
     }
 
+    /**
+     * Junção AVL: religa o nó às duas sub-árvores AVL mesmo que a diferença de altura entre elas seja grande.
+     * O nó desce pela borda da sub-árvore mais alta até encontrar uma sub-árvore com altura próxima à da outra,
+     * é ligado ali, e o balanceamento é restaurado com no máximo uma rotação simples ou dupla por nível na volta.
+     * O custo é proporcional à diferença de altura, e não ao tamanho das sub-árvores.
+     * Com ela, {@link #inserirLote} reequilibra a árvore uma vez por nó visitado, e não uma vez por item inserido.
+     */
+    @Override
+    protected No<K, V> juntar(No<K, V> esquerda, No<K, V> meio, No<K, V> direita) {
+
+    	if (altura(esquerda) > altura(direita) + 1)
+    		return juntarPelaDireita(esquerda, meio, direita);
+    	if (altura(direita) > altura(esquerda) + 1)
+    		return juntarPelaEsquerda(esquerda, meio, direita);
+    	return super.juntar(esquerda, meio, direita);
+    }
+
+    /** Junção em que a sub-árvore esquerda é a mais alta: o nó desce pela borda direita dela. */
+    private No<K, V> juntarPelaDireita(No<K, V> esquerda, No<K, V> meio, No<K, V> direita) {
+
+    	No<K, V> novaDireita;
+
+    	if (altura(esquerda.getDireita()) <= altura(direita) + 1) {
+    		novaDireita = super.juntar(esquerda.getDireita(), meio, direita);
+    		if (altura(novaDireita) > altura(esquerda.getEsquerda()) + 1)
+    			// Rotação dupla
+    			novaDireita = rotacionarDireita(novaDireita);
+    	} else {
+    		novaDireita = juntarPelaDireita(esquerda.getDireita(), meio, direita);
+    	}
+    	esquerda.setDireita(novaDireita);
+    	if (altura(novaDireita) > altura(esquerda.getEsquerda()) + 1)
+    		return rotacionarEsquerda(esquerda);
+    	esquerda.setAltura();
+    	return esquerda;
+    }
+
+    /** Junção em que a sub-árvore direita é a mais alta: o nó desce pela borda esquerda dela. */
+    private No<K, V> juntarPelaEsquerda(No<K, V> esquerda, No<K, V> meio, No<K, V> direita) {
+
+    	No<K, V> novaEsquerda;
+
+    	if (altura(direita.getEsquerda()) <= altura(esquerda) + 1) {
+    		novaEsquerda = super.juntar(esquerda, meio, direita.getEsquerda());
+    		if (altura(novaEsquerda) > altura(direita.getDireita()) + 1)
+    			// Rotação dupla
+    			novaEsquerda = rotacionarEsquerda(novaEsquerda);
+    	} else {
+    		novaEsquerda = juntarPelaEsquerda(esquerda, meio, direita.getEsquerda());
+    	}
+    	direita.setEsquerda(novaEsquerda);
+    	if (altura(novaEsquerda) > altura(direita.getDireita()) + 1)
+    		return rotacionarDireita(direita);
+    	direita.setAltura();
+    	return direita;
+    }
+
+    /**
+     * Retira desta árvore os itens com chaves maiores do que a informada e os devolve em uma nova árvore AVL.
+     * A divisão desce uma só vez pelo caminho da chave e, na volta, junta as sub-árvores que ficam de cada lado,
+     * em tempo O(log n); apenas a contagem dos itens retirados percorre a parte retirada.
+     * @param chave a chave que separa as duas árvores; o item com essa chave, se houver, continua nesta árvore.
+     * @return a nova árvore, com os itens de chaves maiores do que a informada.
+     */
+    public AVL<K, V> dividir(K chave) {
+
+    	Divisao<K, V> divisao = dividir(getRaiz(), chave);
+    	AVL<K, V> maiores = new AVL<>(comparador);
+    	int quantMaiores = contar(divisao.maiores);
+
+    	if (divisao.igual != null)
+    		divisao.menores = juntar(divisao.menores, divisao.igual, null);
+    	maiores.substituirConteudo(divisao.maiores, quantMaiores);
+    	substituirConteudo(divisao.menores, tamanho() - quantMaiores);
+    	return maiores;
+    }
+
+    /**
+     * Acrescenta a esta árvore todos os itens da outra, cujas chaves devem ser todas maiores do que as desta.
+     * Os nós da outra árvore são religados a esta, sem cópias, em tempo O(log n); a outra árvore fica vazia.
+     * @param maiores a árvore com as chaves maiores.
+     * @throws IllegalArgumentException caso alguma chave da outra árvore não seja maior do que todas as desta.
+     */
+    public void juntar(AVL<K, V> maiores) {
+
+    	if (maiores == this)
+    		throw new IllegalArgumentException("Uma árvore não pode ser juntada a ela mesma.");
+    	if (vazia() || maiores.vazia()) {
+    		if (vazia())
+    			substituirConteudo(maiores.getRaiz(), maiores.tamanho());
+    		maiores.substituirConteudo(null, 0);
+    		return;
+    	}
+    	if (comparador.compare(maior(getRaiz()).getChave(), menor(maiores.getRaiz()).getChave()) >= 0)
+    		throw new IllegalArgumentException("As chaves da árvore juntada devem ser maiores do que as desta árvore.");
+
+    	int novoTamanho = tamanho() + maiores.tamanho();
+    	substituirConteudo(juntarSemMeio(getRaiz(), maiores.getRaiz()), novoTamanho);
+    	maiores.substituirConteudo(null, 0);
+    }
+
+    /**
+     * União desta árvore com a outra. Para uma chave presente nas duas, fica o item desta árvore.
+     * O resultado é montado com os próprios nós das duas árvores, que ficam vazias.
+     * @return a nova árvore, com as chaves presentes em ao menos uma das duas.
+     */
+    public AVL<K, V> uniao(AVL<K, V> outra) {
+    	return operar(Operacao.UNIAO, outra);
+    }
+
+    /**
+     * Interseção desta árvore com a outra, com os itens desta árvore.
+     * O resultado é montado com os próprios nós das duas árvores, que ficam vazias.
+     * @return a nova árvore, com as chaves presentes nas duas.
+     */
+    public AVL<K, V> intersecao(AVL<K, V> outra) {
+    	return operar(Operacao.INTERSECAO, outra);
+    }
+
+    /**
+     * Diferença entre esta árvore e a outra.
+     * O resultado é montado com os próprios nós das duas árvores, que ficam vazias.
+     * @return a nova árvore, com as chaves desta árvore que não estão na outra.
+     */
+    public AVL<K, V> diferenca(AVL<K, V> outra) {
+    	return operar(Operacao.DIFERENCA, outra);
+    }
+
+    /**
+     * Operações de conjunto por junção: a outra árvore é dividida pela chave da raiz desta, a operação é aplicada,
+     * recursivamente, às duas metades de cada lado, e os resultados são juntados de volta. Com m itens na menor
+     * árvore e n na maior, o custo é O(m log(n/m + 1)), em vez dos O(m log n) de pesquisas e inserções item a item.
+     * As duas metades são independentes e, quando grandes, são processadas em paralelo no pool comum de fork-join.
+     * O tamanho do resultado sai da quantidade de chaves encontradas nas duas árvores, sem percorrê-lo.
+     */
+    private AVL<K, V> operar(Operacao operacao, AVL<K, V> outra) {
+
+    	if (outra == this)
+    		throw new IllegalArgumentException("A operação exige duas árvores distintas.");
+
+    	TarefaConjunto tarefa = new TarefaConjunto(operacao, getRaiz(), outra.getRaiz());
+    	No<K, V> raizResultado = ForkJoinPool.commonPool().invoke(tarefa);
+    	AVL<K, V> resultado = new AVL<>(comparador);
+    	int tamanhoResultado = switch (operacao) {
+    		case UNIAO -> tamanho() + outra.tamanho() - tarefa.coincidencias;
+    		case INTERSECAO -> tarefa.coincidencias;
+    		case DIFERENCA -> tamanho() - tarefa.coincidencias;
+    	};
+
+    	resultado.substituirConteudo(raizResultado, tamanhoResultado);
+    	substituirConteudo(null, 0);
+    	outra.substituirConteudo(null, 0);
+    	return resultado;
+    }
+
+    /**
+     * Tarefa de fork-join que aplica uma operação de conjunto a duas sub-árvores disjuntas das demais tarefas.
+     * Registra quantas chaves da primeira sub-árvore foram encontradas na segunda.
+     */
+    @SuppressWarnings("serial")
+    private class TarefaConjunto extends RecursiveTask<No<K, V>> {
+
+    	private final Operacao operacao;
+    	private final No<K, V> primeira;
+    	private final No<K, V> segunda;
+    	private int coincidencias;
+
+    	private TarefaConjunto(Operacao operacao, No<K, V> primeira, No<K, V> segunda) {
+    		this.operacao = operacao;
+    		this.primeira = primeira;
+    		this.segunda = segunda;
+    	}
+
+    	@Override
+    	protected No<K, V> compute() {
+
+    		TarefaConjunto esquerda, direita;
+    		No<K, V> resultadoEsquerda, resultadoDireita;
+    		int[] coincidenciasSequenciais;
+    		Divisao<K, V> divisao;
+
+    		if (altura(primeira) < ALTURA_MINIMA_PARALELA || segunda == null) {
+    			coincidenciasSequenciais = new int[1];
+    			No<K, V> resultado = operar(operacao, primeira, segunda, coincidenciasSequenciais);
+    			coincidencias = coincidenciasSequenciais[0];
+    			return resultado;
+    		}
+
+    		divisao = dividir(segunda, primeira.getChave());
+    		esquerda = new TarefaConjunto(operacao, primeira.getEsquerda(), divisao.menores);
+    		direita = new TarefaConjunto(operacao, primeira.getDireita(), divisao.maiores);
+    		esquerda.fork();
+    		resultadoDireita = direita.compute();
+    		resultadoEsquerda = esquerda.join();
+    		coincidencias = esquerda.coincidencias + direita.coincidencias + ((divisao.igual != null) ? 1 : 0);
+    		return combinar(operacao, resultadoEsquerda, primeira, divisao.igual != null, resultadoDireita);
+    	}
+    }
+
+    /**
+     * Versão sequencial da operação de conjunto, para sub-árvores pequenas.
+     * @param coincidencias acumula quantas chaves da primeira sub-árvore foram encontradas na segunda.
+     * @return a raiz da sub-árvore resultante.
+     */
+    private No<K, V> operar(Operacao operacao, No<K, V> primeira, No<K, V> segunda, int[] coincidencias) {
+
+    	Divisao<K, V> divisao;
+    	No<K, V> resultadoEsquerda;
+
+    	if (primeira == null)
+    		return (operacao == Operacao.UNIAO) ? segunda : null;
+    	if (segunda == null)
+    		return (operacao == Operacao.INTERSECAO) ? null : primeira;
+
+    	divisao = dividir(segunda, primeira.getChave());
+    	if (divisao.igual != null)
+    		coincidencias[0]++;
+    	resultadoEsquerda = operar(operacao, primeira.getEsquerda(), divisao.menores, coincidencias);
+    	return combinar(operacao, resultadoEsquerda, primeira, divisao.igual != null,
+    			operar(operacao, primeira.getDireita(), divisao.maiores, coincidencias));
+    }
+
+    /**
+     * Junta os resultados das duas metades, mantendo ou descartando o nó que as separa conforme a operação.
+     * @param presenteNaSegunda indica se a chave do nó também estava na segunda sub-árvore.
+     */
+    private No<K, V> combinar(Operacao operacao, No<K, V> esquerda, No<K, V> no, boolean presenteNaSegunda, No<K, V> direita) {
+
+    	boolean manter = switch (operacao) {
+    		case UNIAO -> true;
+    		case INTERSECAO -> presenteNaSegunda;
+    		case DIFERENCA -> !presenteNaSegunda;
+    	};
+    	return manter ? juntar(esquerda, no, direita) : juntarSemMeio(esquerda, direita);
+    }
+
+    /**
+     * Método recursivo responsável por dividir a sub-árvore pela chave, em tempo O(log n):
+     * cada nó do caminho da chave é juntado às sub-árvores do lado a que pertence.
+     * @return as sub-árvores AVL com as chaves menores e maiores e o nó com a chave, se houver.
+     */
+    private Divisao<K, V> dividir(No<K, V> raizArvore, K chave) {
+
+    	Divisao<K, V> divisao;
+    	No<K, V> esquerda, direita;
+    	int comparacao;
+
+    	if (raizArvore == null)
+    		return new Divisao<>(null, null, null);
+
+    	esquerda = raizArvore.getEsquerda();
+    	direita = raizArvore.getDireita();
+    	comparacao = comparador.compare(chave, raizArvore.getChave());
+    	if (comparacao == 0)
+    		return new Divisao<>(esquerda, super.juntar(null, raizArvore, null), direita);
+    	if (comparacao < 0) {
+    		divisao = dividir(esquerda, chave);
+    		divisao.maiores = juntar(divisao.maiores, raizArvore, direita);
+    	} else {
+    		divisao = dividir(direita, chave);
+    		divisao.menores = juntar(esquerda, raizArvore, divisao.menores);
+    	}
+    	return divisao;
+    }
+
+    /**
+     * Junção sem nó intermediário: o maior nó da sub-árvore esquerda é retirado e usado para ligar as duas.
+     */
+    private No<K, V> juntarSemMeio(No<K, V> esquerda, No<K, V> direita) {
+
+    	Divisao<K, V> divisao;
+
+    	if (esquerda == null)
+    		return direita;
+    	if (direita == null)
+    		return esquerda;
+    	divisao = retirarMaior(esquerda);
+    	return juntar(divisao.menores, divisao.igual, direita);
+    }
+
+    /**
+     * Método recursivo responsável por retirar o maior nó da sub-árvore.
+     * @return a sub-árvore restante, em {@code menores}, e o nó retirado, em {@code igual}.
+     */
+    private Divisao<K, V> retirarMaior(No<K, V> raizArvore) {
+
+    	Divisao<K, V> divisao;
+
+    	if (raizArvore.getDireita() == null)
+    		return new Divisao<>(raizArvore.getEsquerda(), super.juntar(null, raizArvore, null), null);
+    	divisao = retirarMaior(raizArvore.getDireita());
+    	divisao.menores = juntar(raizArvore.getEsquerda(), raizArvore, divisao.menores);
+    	return divisao;
+    }
+
+    private static <K, V> No<K, V> menor(No<K, V> raizArvore) {
+    	while (raizArvore.getEsquerda() != null)
+    		raizArvore = raizArvore.getEsquerda();
+    	return raizArvore;
+    }
+
+    private static <K, V> No<K, V> maior(No<K, V> raizArvore) {
+    	while (raizArvore.getDireita() != null)
+    		raizArvore = raizArvore.getDireita();
+    	return raizArvore;
+    }
+
+    private static int contar(No<?, ?> raizArvore) {
+    	return (raizArvore == null) ? 0 : 1 + contar(raizArvore.getEsquerda()) + contar(raizArvore.getDireita());
+    }
+
+    private static int altura(No<?, ?> no) {
+    	return (no == null) ? -1 : no.getAltura();
+    }
+
     private No<K, V> balancear(No<K, V> raizArvore) {
 		
 		int fatorBalanceamento;
@@ -93,38 +439,4 @@ public class AVL<K, V> extends ABB<K, V> {
 		}
 		return raizArvore;
 	}
-	
-	private No<K, V> rotacionarDireita(No<K, V> p) {
-		
-		No<K, V> u;
-		No<K, V> filhoEsquerdaDireita;  // triângulo vermelho
-		
-		u = p.getEsquerda();
-		filhoEsquerdaDireita = u.getDireita();
-		
-		p.setEsquerda(filhoEsquerdaDireita);
-		u.setDireita(p);
-		
-		p.setAltura();
-		u.setAltura();
-		
-		return u;
-	}
-	
-	private No<K, V> rotacionarEsquerda(No<K, V> p) {
-	
-		No<K, V> z;
-		No<K, V> filhoDireitaEsquerda;  // triângulo vermelho
-		
-		z = p.getDireita();
-		filhoDireitaEsquerda = z.getEsquerda();
-		
-		p.setDireita(filhoDireitaEsquerda);
-		z.setEsquerda(p);
-		
-		p.setAltura();
-		z.setAltura();
-		
-		return z;
-	}
 }
@@ -0,0 +1,285 @@
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Árvore AVL persistente: cada versão é imutável, e {@link #inserir}, {@link #atualizar} e {@link #remover} não alteram
+ * a versão sobre a qual são chamados, mas devolvem uma nova versão. Apenas os nós do caminho da chave alterada são
+ * copiados (O(log n) nós por operação); todo o restante é compartilhado entre a versão antiga e a nova.
+ * Um leitor que guarda uma versão tem, sem travas e sem cópia, uma fotografia consistente do índice pelo tempo que
+ * precisar, mesmo que o escritor publique versões novas enquanto isso. Todos os campos são finais, de modo que uma
+ * versão publicada em um campo volátil é vista por completo por qualquer thread.
+ */
+public class AVLPersistente<K, V> implements Iterable<V> {
+
+	/** Nó imutável: as alterações criam nós novos, que apontam para as sub-árvores não alteradas. */
+	private static final class NoPersistente<K, V> {
+		private final K chave;
+		private final V item;
+		private final NoPersistente<K, V> esquerda;
+		private final NoPersistente<K, V> direita;
+		private final int altura;
+
+		private NoPersistente(K chave, V item, NoPersistente<K, V> esquerda, NoPersistente<K, V> direita) {
+			this.chave = chave;
+			this.item = item;
+			this.esquerda = esquerda;
+			this.direita = direita;
+			this.altura = Math.max(altura(esquerda), altura(direita)) + 1;
+		}
+	}
+
+	private final Comparator<K> comparador;
+	private final NoPersistente<K, V> raiz;
+	private final int tamanho;
+
+	/**
+	 * Construtor da classe.
+	 * Esse construtor cria a versão vazia da árvore, da qual as demais versões são derivadas.
+	 * @param comparador o comparador a ser utilizado para organizar os elementos da árvore.
+	 */
+	public AVLPersistente(Comparator<K> comparador) {
+		this(comparador, null, 0);
+	}
+
+	private AVLPersistente(Comparator<K> comparador, NoPersistente<K, V> raiz, int tamanho) {
+		this.comparador = comparador;
+		this.raiz = raiz;
+		this.tamanho = tamanho;
+	}
+
+	private static int altura(NoPersistente<?, ?> no) {
+		return (no == null) ? -1 : no.altura;
+	}
+
+	public boolean vazia() {
+		return (raiz == null);
+	}
+
+	public int tamanho() {
+		return tamanho;
+	}
+
+	/**
+	 * Pesquisa o item associado à chave nesta versão.
+	 * @return o item associado à chave.
+	 * @throws NoSuchElementException caso a chave não esteja presente nesta versão.
+	 */
+	public V pesquisar(K chave) {
+
+		NoPersistente<K, V> atual = raiz;
+		int comparacao;
+
+		while (atual != null) {
+			comparacao = comparador.compare(chave, atual.chave);
+			if (comparacao == 0)
+				return atual.item;
+			atual = (comparacao < 0) ? atual.esquerda : atual.direita;
+		}
+		throw new NoSuchElementException("O item não foi encontrado!");
+	}
+
+	/**
+	 * @return uma nova versão, com o item inserido; esta versão não é alterada.
+	 * @throws IllegalArgumentException no caso de um item, com a mesma chave, já existir nesta versão.
+	 */
+	public AVLPersistente<K, V> inserir(K chave, V item) {
+		return new AVLPersistente<>(comparador, inserir(raiz, chave, item, false), tamanho + 1);
+	}
+
+	/**
+	 * Associa o item à chave, substituindo o item anterior, se a chave já existir.
+	 * @return uma nova versão, com a chave associada ao item; esta versão não é alterada.
+	 */
+	public AVLPersistente<K, V> atualizar(K chave, V item) {
+
+		boolean existia = contem(chave);
+
+		return new AVLPersistente<>(comparador, inserir(raiz, chave, item, existia), existia ? tamanho : tamanho + 1);
+	}
+
+	/**
+	 * @return uma nova versão, sem o item associado à chave; esta versão não é alterada.
+	 * @throws NoSuchElementException caso a chave não esteja presente nesta versão.
+	 */
+	public AVLPersistente<K, V> remover(K chave) {
+		return new AVLPersistente<>(comparador, remover(raiz, chave), tamanho - 1);
+	}
+
+	/**
+	 * @return true se a chave estiver presente nesta versão.
+	 */
+	public boolean contem(K chave) {
+
+		try {
+			pesquisar(chave);
+			return true;
+		} catch (NoSuchElementException excecao) {
+			return false;
+		}
+	}
+
+	/**
+	 * Método recursivo responsável por inserir o item, copiando os nós do caminho da chave.
+	 * @param substituir indica se um item com a mesma chave deve ser substituído, em vez de recusado.
+	 * @return a raiz da nova versão da sub-árvore.
+	 */
+	private NoPersistente<K, V> inserir(NoPersistente<K, V> raizArvore, K chave, V item, boolean substituir) {
+
+		int comparacao;
+
+		if (raizArvore == null)
+			return new NoPersistente<>(chave, item, null, null);
+
+		comparacao = comparador.compare(chave, raizArvore.chave);
+		if (comparacao == 0) {
+			if (!substituir)
+				throw new IllegalArgumentException("O item já foi inserido anteriormente na árvore.");
+			return new NoPersistente<>(chave, item, raizArvore.esquerda, raizArvore.direita);
+		}
+		if (comparacao < 0)
+			return balancear(raizArvore.chave, raizArvore.item, inserir(raizArvore.esquerda, chave, item, substituir), raizArvore.direita);
+		return balancear(raizArvore.chave, raizArvore.item, raizArvore.esquerda, inserir(raizArvore.direita, chave, item, substituir));
+	}
+
+	/**
+	 * Método recursivo responsável por retirar o item, copiando os nós do caminho da chave.
+	 * Um nó com dois filhos é substituído pelo seu antecessor, como na {@link AVL}.
+	 * @return a raiz da nova versão da sub-árvore.
+	 */
+	private NoPersistente<K, V> remover(NoPersistente<K, V> raizArvore, K chave) {
+
+		NoPersistente<K, V> antecessor;
+		int comparacao;
+
+		if (raizArvore == null)
+			throw new NoSuchElementException("O item a ser removido não foi localizado na árvore!");
+
+		comparacao = comparador.compare(chave, raizArvore.chave);
+		if (comparacao < 0)
+			return balancear(raizArvore.chave, raizArvore.item, remover(raizArvore.esquerda, chave), raizArvore.direita);
+		if (comparacao > 0)
+			return balancear(raizArvore.chave, raizArvore.item, raizArvore.esquerda, remover(raizArvore.direita, chave));
+
+		if (raizArvore.esquerda == null)
+			return raizArvore.direita;
+		if (raizArvore.direita == null)
+			return raizArvore.esquerda;
+		antecessor = raizArvore.esquerda;
+		while (antecessor.direita != null)
+			antecessor = antecessor.direita;
+		return balancear(antecessor.chave, antecessor.item, remover(raizArvore.esquerda, antecessor.chave), raizArvore.direita);
+	}
+
+	/**
+	 * Cria o nó com a chave, o item e as sub-árvores informadas, aplicando as rotações AVL se a diferença
+	 * de altura entre as sub-árvores for 2. As rotações também criam nós novos, em vez de religar os existentes.
+	 */
+	private NoPersistente<K, V> balancear(K chave, V item, NoPersistente<K, V> esquerda, NoPersistente<K, V> direita) {
+
+		NoPersistente<K, V> filho;
+
+		if (altura(esquerda) > altura(direita) + 1) {
+			filho = esquerda;
+			if (altura(filho.direita) > altura(filho.esquerda))
+				// Rotação dupla: o neto da direita sobe para a raiz.
+				return new NoPersistente<>(filho.direita.chave, filho.direita.item,
+						new NoPersistente<>(filho.chave, filho.item, filho.esquerda, filho.direita.esquerda),
+						new NoPersistente<>(chave, item, filho.direita.direita, direita));
+			// Rotação simples à direita
+			return new NoPersistente<>(filho.chave, filho.item, filho.esquerda,
+					new NoPersistente<>(chave, item, filho.direita, direita));
+		}
+		if (altura(direita) > altura(esquerda) + 1) {
+			filho = direita;
+			if (altura(filho.esquerda) > altura(filho.direita))
+				// Rotação dupla: o neto da esquerda sobe para a raiz.
+				return new NoPersistente<>(filho.esquerda.chave, filho.esquerda.item,
+						new NoPersistente<>(chave, item, esquerda, filho.esquerda.esquerda),
+						new NoPersistente<>(filho.chave, filho.item, filho.esquerda.direita, filho.direita));
+			// Rotação simples à esquerda
+			return new NoPersistente<>(filho.chave, filho.item,
+					new NoPersistente<>(chave, item, esquerda, filho.esquerda), filho.direita);
+		}
+		return new NoPersistente<>(chave, item, esquerda, direita);
+	}
+
+	/**
+	 * Localiza, nesta versão, os itens com chaves entre as duas informadas (inclusive).
+	 * @return uma lista com os itens encontrados, em ordem crescente de chave.
+	 */
+	public Lista<V> pesquisarIntervalo(K chaveInicial, K chaveFinal) {
+
+		Lista<V> encontrados = new Lista<>();
+
+		if (comparador.compare(chaveInicial, chaveFinal) <= 0)
+			pesquisarIntervalo(raiz, chaveInicial, chaveFinal, encontrados);
+		return encontrados;
+	}
+
+	private void pesquisarIntervalo(NoPersistente<K, V> raizArvore, K chaveInicial, K chaveFinal, Lista<V> encontrados) {
+
+		int comparacaoInicial, comparacaoFinal;
+
+		if (raizArvore == null)
+			return;
+
+		comparacaoInicial = comparador.compare(chaveInicial, raizArvore.chave);
+		comparacaoFinal = comparador.compare(chaveFinal, raizArvore.chave);
+		if (comparacaoInicial < 0)
+			pesquisarIntervalo(raizArvore.esquerda, chaveInicial, chaveFinal, encontrados);
+		if (comparacaoInicial <= 0 && comparacaoFinal >= 0)
+			encontrados.inserirFinal(raizArvore.item);
+		if (comparacaoFinal > 0)
+			pesquisarIntervalo(raizArvore.direita, chaveInicial, chaveFinal, encontrados);
+	}
+
+	/**
+	 * Percorre os itens desta versão em ordem crescente de chave.
+	 * Como a versão é imutável, o percurso não é afetado por versões publicadas depois.
+	 */
+	@Override
+	public Iterator<V> iterator() {
+
+		return new Iterator<V>() {
+
+			/// Pilha dos nós cuja sub-árvore esquerda já foi visitada; a altura limita a profundidade.
+			@SuppressWarnings({"unchecked", "rawtypes"})
+			private final NoPersistente<K, V>[] pilha = new NoPersistente[altura(raiz) + 1];
+			private int topo = empilharEsquerda(raiz, 0);
+
+			private int empilharEsquerda(NoPersistente<K, V> no, int topo) {
+				for (; no != null; no = no.esquerda)
+					pilha[topo++] = no;
+				return topo;
+			}
+
+			@Override
+			public boolean hasNext() {
+				return topo > 0;
+			}
+
+			@Override
+			public V next() {
+
+				NoPersistente<K, V> atual;
+
+				if (topo == 0)
+					throw new NoSuchElementException("Não há mais itens nesta versão da árvore.");
+				atual = pilha[--topo];
+				topo = empilharEsquerda(atual.direita, topo);
+				return atual.item;
+			}
+		};
+	}
+
+	@Override
+	public String toString() {
+
+		StringBuilder conteudo = new StringBuilder();
+
+		for (V item : this)
+			conteudo.append(item).append("\n");
+		return conteudo.toString();
+	}
+}
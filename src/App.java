@@ -1,27 +1,57 @@
 import java.nio.charset.Charset;
 import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Random;
 import java.util.Scanner;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 import java.util.function.Function;
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.PrintStream;
 import java.lang.reflect.InvocationTargetException;
 
 public class App {
 
+    static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
     static String nomeArquivoDados;
     static Scanner teclado;
     static int quantosProdutos = 0;
+    static final int TAMANHO_RANKING = 20;
+    static final int LIMITE_SUGESTOES = 10;
+    static final int TAMANHO_CACHE = 1000;
+    static final int TAMANHO_LOTE_CARGA = 1000;
+    static final double TAXA_FALSOS_POSITIVOS = 0.01;
+    static final String DIRETORIO_ENTRADA = "entrada";
+    static final int INTERVALO_INGESTAO = 2; // segundos
+
+    /** Leitores dos índices (consultas) usam a trava de leitura; a ingestão incremental, a de escrita. */
+    static final ReentrantReadWriteLock travaIndices = new ReentrantReadWriteLock();
 
 
-    static AVL<String, Produto> produtosBalanceadosPorNome;
-    static AVL<Integer, Produto> produtosBalanceadosPorId;
+    static ListaDeSaltos<String, Produto> produtosBalanceadosPorNome;
+    static DiretorioDenso<Produto> produtosBalanceadosPorId;
+    static CacheMapeamento<Integer, Produto> produtosEmCache;
+    static IndiceInvertido indiceDescricoes;
+    static ArvoreRadix<Produto> produtosPorPrefixo;
     static TabelaHash<Produto, Lista<Pedido>> pedidosPorProduto;
+    /** Versão atual dos pedidos de cada produto (id do produto → pedidos por id); lida sem trava pelos relatórios. */
+    static volatile AVLPersistente<Integer, AVLPersistente<Integer, Pedido>> versaoPedidosPorProduto;
+    static AVL<LocalDate, Lista<Pedido>> pedidosPorData;
+    static TabelaHash<Integer, VendasProduto> vendasPorProduto;
+    static RankingTopK<Produto> produtosMaisVendidos;
+    static IndiceValidade pereciveisPorValidade;
 
-    static AVL<Integer, Fornecedor> fornecedoresPorID;
-    static TabelaHash<Produto, Lista<Fornecedor>> fornecedoresDoProduto;
+    static DiretorioDenso<Fornecedor> fornecedoresPorID;
+    static CacheMapeamento<Integer, Fornecedor> fornecedoresEmCache;
+    static RelacaoCSR produtoFornecedor; // origem: id do produto; destino: documento do fornecedor.
+    static RankingTopK<Fornecedor> maioresFornecedores;
+    static ArvoreRadix<Fornecedor> fornecedoresPorPrefixo;
     
     static void limparTela() {
         System.out.print("\033[H\033[2J");
@@ -49,6 +79,15 @@ public class App {
         }
         return valor;
     }
+
+    static LocalDate lerData(String mensagem) {
+        System.out.print(mensagem);
+        try {
+            return LocalDate.parse(teclado.nextLine(), FORMATO_DATA);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
     
     static int menu() {
         cabecalho();
@@ -56,6 +95,13 @@ public class App {
         System.out.println("2 - Relatório: Pedidos de um produto (Arquivo)");
         System.out.println("3 - Relatório: Dados de um Fornecedor (Tela)"); 
         System.out.println("4 - Relatório: Fornecedores de um Produto (Arquivo)"); 
+        System.out.println("5 - Relatório: Pedidos entre duas datas (Tela)");
+        System.out.println("6 - Relatório: Mais vendidos e maiores fornecedores (Tela)");
+        System.out.println("7 - Procurar produtos, por palavras da descrição");
+        System.out.println("8 - Autocompletar nomes de produtos e fornecedores");
+        System.out.println("9 - Relatórios de pedidos e fornecedores em lote (Arquivos)");
+        System.out.println("10 - Relatório: Produtos em comum entre dois fornecedores (Tela)");
+        System.out.println("11 - Relatório: Resumo do catálogo (Tela)");
         System.out.println("0 - Sair");
         System.out.print("Digite sua opção: ");
         
@@ -66,91 +112,147 @@ public class App {
         }
     }
     
-    static <K> AVL<K, Produto> lerProdutos(String nomeArquivoDados, Function<Produto, K> extratorDeChave) {
-        Scanner arquivo = null;
+    static <K, M extends IMapeamento<K, Produto>> M lerProdutos(String nomeArquivoDados, Function<Produto, K> extratorDeChave, M produtosCadastrados) {
+        LeitorMapeado arquivo;
         int numProdutos;
-        String linha;
         Produto produto;
-        AVL<K, Produto> produtosCadastrados;
         K chave;
         
         try {
-            arquivo = new Scanner(new File(nomeArquivoDados), Charset.forName("UTF-8"));
-            numProdutos = Integer.parseInt(arquivo.nextLine());
-            produtosCadastrados = new AVL<K, Produto>();
+            arquivo = new LeitorMapeado(nomeArquivoDados);
+            numProdutos = arquivo.lerInteiro();
+            arquivo.proximaLinha();
+            produtosBalanceadosPorNome = new ListaDeSaltos<>(String::compareTo);
+            indiceDescricoes = new IndiceInvertido(Math.max(numProdutos / 10, 1));
+            produtosPorPrefixo = new ArvoreRadix<>();
             
             for (int i = 0; i < numProdutos; i++) {
-                linha = arquivo.nextLine();
-                produto = Produto.criarDoTexto(linha);
+                produto = Produto.criarDoLeitor(arquivo);
+                arquivo.proximaLinha();
                 chave = extratorDeChave.apply(produto);
                 produtosCadastrados.inserir(chave, produto);
+                produtosBalanceadosPorNome.inserir(produto.descricao, produto);
+                indiceDescricoes.indexar(produto.hashCode(), produto.descricao);
+                produtosPorPrefixo.inserir(produto.descricao, produto);
             }
             quantosProdutos = numProdutos;
             
         } catch (IOException excecaoArquivo) {
             produtosCadastrados = null;
-        } finally {
-            if (arquivo != null) arquivo.close();
         }
         return produtosCadastrados;
     }
 
-    static <K> AVL<K, Fornecedor> lerFornecedores(String nomeArquivo, Function<Fornecedor, K> extratorDeChave) {
-        Scanner arquivo = null;
-        AVL<K, Fornecedor> arvoreFornecedores = new AVL<>();
+    static <K, M extends IMapeamento<K, Fornecedor>> M lerFornecedores(String nomeArquivo, Function<Fornecedor, K> extratorDeChave, M arvoreFornecedores) {
         Random sorteio = new Random(42); 
 
         try {
-            arquivo = new Scanner(new File(nomeArquivo), Charset.forName("UTF-8"));
-            int qtdFornecedores = Integer.parseInt(arquivo.nextLine()); 
+            LeitorMapeado arquivo = new LeitorMapeado(nomeArquivo);
+            int qtdFornecedores = arquivo.lerInteiro(); 
+            arquivo.proximaLinha();
 
             for (int i = 0; i < qtdFornecedores; i++) {
-                String nome = arquivo.nextLine();
+                String nome = arquivo.lerLinha();
+                arquivo.proximaLinha();
                 try {
                     Fornecedor novoFornecedor = new Fornecedor(nome);
                     int qtdProdutos = sorteio.nextInt(7);
                     
                     for (int j = 0; j < qtdProdutos; j++) {
                         int idSorteado = 10_000 + sorteio.nextInt(quantosProdutos);
-                        
-                        try {
-                            Produto prod = produtosBalanceadosPorId.pesquisar(idSorteado);
-                            
-                            novoFornecedor.adicionarProduto(prod);
-
-                            Lista<Fornecedor> listaFornecedores;
-                            try {
-                                listaFornecedores = fornecedoresDoProduto.pesquisar(prod);
-                            } catch (NoSuchElementException e) {
-                                listaFornecedores = new Lista<>();
-                                fornecedoresDoProduto.inserir(prod, listaFornecedores);
-                            }
-                            listaFornecedores.inserirFinal(novoFornecedor);
-
-                        } catch (NoSuchElementException e) {
-                        }
+                        produtoFornecedor.ligar(idSorteado, novoFornecedor.getDocumento());
+                        maioresFornecedores.atualizar(novoFornecedor, j + 1);
                     }
 
-
                     K chave = extratorDeChave.apply(novoFornecedor);
                     arvoreFornecedores.inserir(chave, novoFornecedor);
+                    fornecedoresPorPrefixo.inserir(novoFornecedor.getNome(), novoFornecedor);
 
                 } catch (IllegalArgumentException e) {
                     System.out.println("Erro ao criar fornecedor '" + nome + "': " + e.getMessage());
                 }
             }
+            produtoFornecedor.compactar();
 
         } catch (IOException e) {
             System.out.println("Erro ao ler arquivo de fornecedores: " + e.getMessage());
             return null;
-        } finally {
-            if (arquivo != null) arquivo.close();
         }
 
         return arvoreFornecedores;
     }
     
-    static <K> Produto localizarProduto(ABB<K, Produto> produtosCadastrados, K procurado) {
+    /**
+     * Inclui um produto recebido pela ingestão incremental em todos os índices de produtos.
+     * O índice por nome é atualizado primeiro: um produto com descrição repetida é recusado sem alterar os demais.
+     * @throws IllegalArgumentException caso já exista um produto com a mesma descrição ou o mesmo id.
+     */
+    static void incluirProduto(Produto produto) {
+        produtosBalanceadosPorNome.inserir(produto.descricao, produto);
+        produtosBalanceadosPorId.inserirInt(produto.hashCode(), produto);
+        indiceDescricoes.indexar(produto.hashCode(), produto.descricao);
+        produtosPorPrefixo.inserir(produto.descricao, produto);
+        if (produto instanceof ProdutoPerecivel perecivel)
+            pereciveisPorValidade.registrar(perecivel);
+        /// Os ids são sequenciais: quantosProdutos delimita a faixa de ids já atribuídos.
+        quantosProdutos = Math.max(quantosProdutos, produto.hashCode() - 10_000 + 1);
+    }
+
+    /**
+     * Inclui um fornecedor recebido pela ingestão incremental, ligado aos produtos informados que existirem.
+     * Um id repetido na linha gera uma única ligação.
+     * @throws IllegalArgumentException caso já exista um fornecedor com o mesmo nome ou o mesmo documento.
+     */
+    static void incluirFornecedor(Fornecedor fornecedor, int[] idsProdutos) {
+        int ligados = 0;
+        int[] ids = idsProdutos.clone();
+        fornecedoresPorPrefixo.inserir(fornecedor.getNome(), fornecedor);
+        fornecedoresPorID.inserirInt(fornecedor.getDocumento(), fornecedor);
+        Arrays.sort(ids);
+        for (int i = 0; i < ids.length; i++) {
+            if (i > 0 && ids[i] == ids[i - 1])
+                continue;
+            try {
+                produtosBalanceadosPorId.pesquisarInt(ids[i]);
+                produtoFornecedor.ligar(ids[i], fornecedor.getDocumento());
+                ligados++;
+            } catch (NoSuchElementException e) {}
+        }
+        if (ligados > 0)
+            maioresFornecedores.atualizar(fornecedor, ligados);
+    }
+
+    /**
+     * Inclui um pedido recebido pela ingestão incremental, com os produtos informados que existirem e
+     * ainda puderem ser vendidos, atualizando os pedidos e as vendas de cada produto e o índice de datas.
+     * Os produtos são todos validados antes de qualquer índice ser alterado; perecíveis vencidos são ignorados.
+     * @throws IllegalArgumentException caso nenhum dos produtos informados exista ou possa ser vendido:
+     * o pedido não é incluído.
+     */
+    static void incluirPedido(LocalDate data, int formaDePagamento, int[] idsProdutos) {
+        List<Produto> encontrados = new ArrayList<>();
+        for (int id : idsProdutos) {
+            try {
+                Produto produto = produtosBalanceadosPorId.pesquisarInt(id);
+                if (!(produto instanceof ProdutoPerecivel perecivel && perecivel.estaExpirado()))
+                    encontrados.add(produto);
+            } catch (NoSuchElementException e) {}
+        }
+        if (encontrados.isEmpty())
+            throw new IllegalArgumentException("Nenhum dos produtos do pedido existe ou está à venda.");
+
+        Pedido pedido = new Pedido(data, formaDePagamento);
+        for (Produto produto : encontrados) {
+            pedido.incluirProduto(produto);
+        }
+        /// O pedido só é indexado completo: os relatórios leem a versão publicada sem trava.
+        for (Produto produto : pedido.getProdutos()) {
+            inserirNaTabela(produto, pedido);
+        }
+        indexarPorData(pedido);
+    }
+    
+    static <K> Produto localizarProduto(IMapeamento<K, Produto> produtosCadastrados, K procurado) {
         Produto produto;
         cabecalho();
         System.out.println("Localizando produto...");
@@ -164,12 +266,41 @@ public class App {
         return produto;
     }
     
-    static Produto localizarProdutoID(ABB<Integer, Produto> produtosCadastrados) {
+    static Produto localizarProdutoID(IMapeamento<Integer, Produto> produtosCadastrados) {
         Integer idProduto = lerOpcao("Digite o ID do produto: ", Integer.class);
         if (idProduto == null) return null;
         return localizarProduto(produtosCadastrados, idProduto);
     }
     
+    static void procurarPorPalavras() {
+        cabecalho();
+        System.out.print("Digite as palavras procuradas: ");
+        String consulta = teclado.nextLine();
+        Integer modo = lerOpcao("1 - Todas as palavras | 2 - Qualquer palavra: ", Integer.class);
+        if (modo == null) return;
+
+        int[] ids = (modo == 2) ? indiceDescricoes.pesquisarQualquer(consulta) : indiceDescricoes.pesquisarTodas(consulta);
+        for (int id : ids) {
+            System.out.println(produtosBalanceadosPorId.pesquisarInt(id));
+        }
+        System.out.println(ids.length + " produtos encontrados (" + indiceDescricoes.getComparacoes() + " comparações).");
+    }
+    
+    static void autocompletar() {
+        cabecalho();
+        System.out.print("Digite o início do nome: ");
+        String prefixo = teclado.nextLine();
+
+        System.out.println("\n=== PRODUTOS ===");
+        for (Produto produto : produtosPorPrefixo.prefixo(prefixo, LIMITE_SUGESTOES)) {
+            System.out.println(produto);
+        }
+        System.out.println("\n=== FORNECEDORES ===");
+        for (Fornecedor fornecedor : fornecedoresPorPrefixo.prefixo(prefixo, LIMITE_SUGESTOES)) {
+            System.out.println(fornecedor.getNome() + " (Documento: " + fornecedor.getDocumento() + ")");
+        }
+    }
+    
     private static void mostrarProduto(Produto produto) {
 
         if(produto == null) System.out.println("Operação cancelada.");
@@ -187,48 +318,215 @@ public class App {
             for (int j = 0; j < quantProdutos; j++) {
                 int id = sorteio.nextInt(quantosProdutos) + 10_000;
                 try {
-                    Produto produto = produtosBalanceadosPorId.pesquisar(id);
+                    Produto produto = produtosBalanceadosPorId.pesquisarInt(id);
                     pedido.incluirProduto(produto);
                     inserirNaTabela(produto, pedido);
                 } catch (NoSuchElementException e) {}
             }
+            indexarPorData(pedido);
             pedidos.inserirFinal(pedido);
         }
         return pedidos;
     }
     
     private static void inserirNaTabela(Produto produto, Pedido pedido) {
-        Lista<Pedido> listaDePedidos;
-        try {
-            listaDePedidos = pedidosPorProduto.pesquisar(produto);
-        } catch (NoSuchElementException excecao) {
+        Lista<Pedido> listaDePedidos = null;
+        /// O filtro de Bloom descarta, sem exceção, a primeira venda de cada produto.
+        if (pedidosPorProduto.talvezContenha(produto)) {
+            try {
+                listaDePedidos = pedidosPorProduto.pesquisar(produto);
+            } catch (NoSuchElementException excecao) {}
+        }
+        if (listaDePedidos == null) {
             listaDePedidos = new Lista<>();
             pedidosPorProduto.inserir(produto, listaDePedidos);
         }
         listaDePedidos.inserirFinal(pedido);
+        registrarVenda(produto, pedido);
+        publicarVersao(produto, pedido);
+    }
+
+    /**
+     * Publica uma nova versão dos pedidos por produto, incluindo o pedido.
+     * Só é chamado por quem escreve nos índices (a carga e a ingestão, sob a trava de escrita); as versões
+     * anteriores continuam válidas para os relatórios que ainda as estão lendo.
+     */
+    private static void publicarVersao(Produto produto, Pedido pedido) {
+        AVLPersistente<Integer, AVLPersistente<Integer, Pedido>> versao = versaoPedidosPorProduto;
+        AVLPersistente<Integer, Pedido> pedidosDoProduto;
+        try {
+            pedidosDoProduto = versao.pesquisar(produto.hashCode());
+        } catch (NoSuchElementException excecao) {
+            pedidosDoProduto = new AVLPersistente<>(Integer::compare);
+        }
+        versaoPedidosPorProduto = versao.atualizar(produto.hashCode(),
+                pedidosDoProduto.atualizar(pedido.getIdPedido(), pedido));
+    }
+
+    private static void registrarVenda(Produto produto, Pedido pedido) {
+        VendasProduto vendas = null;
+        if (vendasPorProduto.talvezContenha(produto.hashCode())) {
+            try {
+                vendas = vendasPorProduto.pesquisar(produto.hashCode());
+            } catch (NoSuchElementException excecao) {}
+        }
+        if (vendas == null) {
+            vendas = new VendasProduto(produto);
+            vendasPorProduto.inserir(produto.hashCode(), vendas);
+        }
+        vendas.registrarVenda(pedido);
+        produtosMaisVendidos.atualizar(produto, vendas.getUnidadesVendidas());
+    }
+
+    /**
+     * Consulta os totais de vendas de um produto, mantidos incrementalmente durante a geração dos pedidos.
+     * @return os totais de vendas do produto, ou null se o produto ainda não foi vendido.
+     */
+    static VendasProduto vendasDoProduto(int idProduto) {
+        try {
+            return vendasPorProduto.pesquisar(idProduto);
+        } catch (NoSuchElementException excecao) {
+            return null;
+        }
+    }
+
+    private static void indexarPorData(Pedido pedido) {
+        Lista<Pedido> pedidosDoDia;
+        try {
+            pedidosDoDia = pedidosPorData.pesquisar(pedido.getDataPedido());
+        } catch (NoSuchElementException excecao) {
+            pedidosDoDia = new Lista<>();
+            pedidosPorData.inserir(pedido.getDataPedido(), pedidosDoDia);
+        }
+        pedidosDoDia.inserirFinal(pedido);
+    }
+
+    /**
+     * Localiza, pelo índice de datas, os pedidos realizados entre as duas datas informadas (inclusive).
+     * @return uma lista com os pedidos de cada dia do intervalo que possui pedidos, em ordem cronológica.
+     */
+    static Lista<Lista<Pedido>> pedidosEntreDatas(LocalDate inicio, LocalDate fim) {
+        return pedidosPorData.pesquisarIntervalo(inicio, fim);
+    }
+
+    /**
+     * Calcula o faturamento de um dia a partir do índice de datas.
+     * @return a soma do valor final dos pedidos do dia, ou 0 se não houver pedidos no dia.
+     */
+    static double faturamentoDoDia(LocalDate dia) {
+        try {
+            return pedidosPorData.pesquisar(dia).calcularValorTotal(Pedido::valorFinal);
+        } catch (NoSuchElementException e) {
+            return 0.0;
+        }
     }
     
+    /**
+     * Grava, em arquivo, o relatório de pedidos do produto.
+     * @return o nome do arquivo gravado, ou null se o produto não possui pedidos.
+     * @throws IOException em caso de erro na gravação do arquivo.
+     */
+    static String gravarRelatorioPedidos(Produto produto) throws IOException {
+        AVLPersistente<Integer, Pedido> pedidosDoProduto;
+        String nomeArquivo = "RelatorioPedidos_" + produto.hashCode() + ".txt";  
+
+        /// Os pedidos vêm de uma versão imutável: a ingestão pode publicar outras durante a gravação.
+        try {
+            pedidosDoProduto = versaoPedidosPorProduto.pesquisar(produto.hashCode());
+        } catch (NoSuchElementException e) {
+            return null;
+        }
+        try (EscritorRelatorio relatorio = new EscritorRelatorio(nomeArquivo)) {
+            relatorio.cabecalho("RELATÓRIO DE PEDIDOS", 
+                    "Produto: " + produto.toString() + "\n", 
+                    vendasDoProduto(produto.hashCode()).toString());
+            relatorio.escreverTodos(pedidosDoProduto, Pedido::escreverEm);
+            relatorio.escrever("\n");
+        }
+        return nomeArquivo;
+    }
+
     static void pedidosDoProduto() {
-        Produto produto = localizarProdutoID(produtosBalanceadosPorId);
+        Produto produto = localizarProdutoID(produtosEmCache);
         if (produto == null) return;
         
-        Lista<Pedido> listaDePedidos;
-        String nomeArquivo = "RelatorioPedidos_" + produto.hashCode() + ".txt";  
-        
         try {
-            listaDePedidos = pedidosPorProduto.pesquisar(produto);
-            try (FileWriter arquivoRelatorio = new FileWriter(nomeArquivo, Charset.forName("UTF-8"))) {
-                arquivoRelatorio.write("RELATÓRIO DE PEDIDOS\n");
-                arquivoRelatorio.write("Produto: " + produto.toString() + "\n");
-                arquivoRelatorio.write("========================================\n");
-                arquivoRelatorio.write(listaDePedidos.toString() + "\n");
+            String nomeArquivo = gravarRelatorioPedidos(produto);
+            if (nomeArquivo == null)
+                System.out.println("Nenhum pedido encontrado para este produto.");
+            else
                 System.out.println("Relatório salvo em: " + nomeArquivo);
-            } catch(IOException excecao) {
-                System.out.println("Erro ao gravar arquivo: " + excecao.getMessage());        	
+        } catch(IOException excecao) {
+            System.out.println("Erro ao gravar arquivo: " + excecao.getMessage());        	
+        }
+    }
+
+    /**
+     * Descreve o fornecedor e os produtos que fornece, consultados na relação produto-fornecedor.
+     */
+    static String descreverFornecedor(Fornecedor fornecedor) {
+        StringBuilder sb = new StringBuilder(fornecedor.toString());
+        int[] idsProdutos = produtoFornecedor.origensDe(fornecedor.getDocumento());
+        sb.append("Produtos fornecidos:\n");
+        if (idsProdutos.length == 0) {
+            sb.append(" - Nenhum produto registrado.\n");
+        } else {
+            for (int idProduto : idsProdutos) {
+                sb.append(produtosBalanceadosPorId.pesquisarInt(idProduto)).append("\n");
             }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Monta, a partir da relação produto-fornecedor, a árvore dos produtos fornecidos, indexados por id.
+     * Um produto ligado mais de uma vez ao fornecedor entra uma única vez no lote.
+     */
+    static AVL<Integer, Produto> produtosDoFornecedor(int documento) {
+        AVL<Integer, Produto> produtos = new AVL<>(Integer::compare);
+        List<Entrada<Integer, Produto>> lote = new ArrayList<>();
+        int[] idsProdutos = produtoFornecedor.origensDe(documento);
+
+        Arrays.sort(idsProdutos);
+        for (int i = 0; i < idsProdutos.length; i++) {
+            if (i > 0 && idsProdutos[i] == idsProdutos[i - 1])
+                continue;
+            lote.add(new Entrada<>(idsProdutos[i], produtosBalanceadosPorId.pesquisarInt(idsProdutos[i])));
+        }
+        produtos.inserirLote(lote);
+        return produtos;
+    }
+
+    private static void listarProdutos(String titulo, AVL<Integer, Produto> produtos) {
+        System.out.println("\n=== " + titulo + " (" + produtos.tamanho() + ") ===");
+        System.out.print(produtos.vazia() ? " - Nenhum produto.\n" : produtos.caminhamentoEmOrdem());
+    }
+
+    /**
+     * Compara os produtos de dois fornecedores com as operações de conjunto da AVL:
+     * os produtos fornecidos por ambos e os fornecidos por apenas um deles.
+     * Cada operação consome as árvores que recebe, por isso cada uma trabalha sobre árvores recém-montadas.
+     */
+    static void compararFornecedores() {
+        cabecalho();
+        Integer primeiro = lerOpcao("Digite o Documento (ID) do primeiro fornecedor: ", Integer.class);
+        if (primeiro == null) return;
+        Integer segundo = lerOpcao("Digite o Documento (ID) do segundo fornecedor: ", Integer.class);
+        if (segundo == null) return;
+
+        try {
+            fornecedoresEmCache.pesquisar(primeiro);
+            fornecedoresEmCache.pesquisar(segundo);
         } catch (NoSuchElementException e) {
-            System.out.println("Nenhum pedido encontrado para este produto.");
+            System.out.println("Fornecedor não encontrado.");
+            return;
         }
+        listarProdutos("PRODUTOS DE AMBOS",
+                produtosDoFornecedor(primeiro).intersecao(produtosDoFornecedor(segundo)));
+        listarProdutos("APENAS DO FORNECEDOR " + primeiro,
+                produtosDoFornecedor(primeiro).diferenca(produtosDoFornecedor(segundo)));
+        listarProdutos("APENAS DO FORNECEDOR " + segundo,
+                produtosDoFornecedor(segundo).diferenca(produtosDoFornecedor(primeiro)));
     }
 
     static void relatorioDeFornecedor() {
@@ -237,81 +535,404 @@ public class App {
         if (id == null) return;
 
         try {
-            Fornecedor f = fornecedoresPorID.pesquisar(id);
+            Fornecedor f = fornecedoresEmCache.pesquisar(id);
             System.out.println("\n=== DADOS DO FORNECEDOR ===");
-            System.out.println(f.toString());
+            System.out.println(descreverFornecedor(f));
         } catch (NoSuchElementException e) {
             System.out.println("Fornecedor com documento " + id + " não encontrado.");
         }
     }
 
 
+    static void pedidosPorPeriodo() {
+        cabecalho();
+        LocalDate inicio = lerData("Digite a data inicial (dd/mm/aaaa): ");
+        if (inicio == null) return;
+        LocalDate fim = lerData("Digite a data final (dd/mm/aaaa): ");
+        if (fim == null) return;
+
+        Lista<Lista<Pedido>> dias = pedidosEntreDatas(inicio, fim);
+        if (dias.vazia()) {
+            System.out.println("Nenhum pedido encontrado no período.");
+            return;
+        }
+
+        int totalPedidos = 0;
+        double faturamentoTotal = 0.0;
+        for (Lista<Pedido> pedidosDoDia : dias) {
+            double faturamento = pedidosDoDia.calcularValorTotal(Pedido::valorFinal);
+            LocalDate dia = pedidosDoDia.iterator().next().getDataPedido();
+            System.out.println(FORMATO_DATA.format(dia) + ": " + pedidosDoDia.tamanho() 
+                    + " pedidos | Faturamento: R$ " + String.format("%.2f", faturamento));
+            totalPedidos += pedidosDoDia.tamanho();
+            faturamentoTotal += faturamento;
+        }
+        System.out.println("Total: " + totalPedidos + " pedidos | Faturamento: R$ " + String.format("%.2f", faturamentoTotal));
+    }
+
+    /**
+     * Resume o catálogo com agregações paralelas sobre o conteúdo dos índices: o valor de venda dos produtos
+     * dentro da validade, os perecíveis em prazo de desconto, a receita das vendas e o faturamento dos pedidos.
+     */
+    static void resumoDoCatalogo() {
+        cabecalho();
+        LocalDate hoje = LocalDate.now();
+
+        double valorCatalogo = produtosBalanceadosPorId.fluxoParalelo()
+                .filter(produto -> !(produto instanceof ProdutoPerecivel perecivel && perecivel.vencido(hoje)))
+                .mapToDouble(Produto::valorDeVenda)
+                .sum();
+        long emDesconto = produtosBalanceadosPorId.fluxoParalelo()
+                .filter(produto -> produto instanceof ProdutoPerecivel perecivel && perecivel.emPrazoDeDesconto(hoje))
+                .count();
+        double receita = vendasPorProduto.fluxoParalelo().mapToDouble(VendasProduto::getReceita).sum();
+        double faturamento = pedidosPorData.fluxoParalelo()
+                .mapToDouble(pedidosDoDia -> pedidosDoDia.calcularValorTotal(Pedido::valorFinal))
+                .sum();
+
+        System.out.println("Produtos cadastrados: " + produtosBalanceadosPorId.tamanho());
+        System.out.println("Valor de venda do catálogo: R$ " + String.format("%.2f", valorCatalogo));
+        System.out.println("Perecíveis em prazo de desconto: " + emDesconto);
+        System.out.println("Receita das vendas registradas: R$ " + String.format("%.2f", receita));
+        System.out.println("Faturamento dos pedidos: R$ " + String.format("%.2f", faturamento));
+    }
+
+    static void rankings() {
+        cabecalho();
+        int posicao = 1;
+        System.out.println("=== PRODUTOS MAIS VENDIDOS ===");
+        for (Entrada<Produto, Integer> entrada : produtosMaisVendidos.classificacao()) {
+            System.out.println(posicao++ + "º - " + entrada.getChave() + " | " + entrada.getValor() + " unidades");
+        }
+        posicao = 1;
+        System.out.println("\n=== FORNECEDORES COM MAIS PRODUTOS ===");
+        for (Entrada<Fornecedor, Integer> entrada : maioresFornecedores.classificacao()) {
+            Fornecedor fornecedor = entrada.getChave();
+            System.out.println(posicao++ + "º - " + fornecedor.getNome() + " (Documento: " + fornecedor.getDocumento() 
+                    + ") | " + entrada.getValor() + " produtos");
+        }
+    }
+
+    /**
+     * Grava, em arquivo, o relatório de fornecedores do produto.
+     * @return o nome do arquivo gravado, ou null se o produto não possui fornecedores.
+     * @throws IOException em caso de erro na gravação do arquivo.
+     */
+    static String gravarRelatorioFornecedores(Produto p) throws IOException {
+        String nomeArquivo = "FornecedoresDoProduto_" + p.hashCode() + ".txt";
+        int[] documentos = produtoFornecedor.destinosDe(p.hashCode());
+
+        if (documentos.length == 0) return null;
+
+        try (EscritorRelatorio relatorio = new EscritorRelatorio(nomeArquivo)) {
+            relatorio.cabecalho("RELATÓRIO DE FORNECEDORES", "Produto: " + p.toString() + "\n");
+            for (int documento : documentos) {
+                relatorio.escreverLinha(descreverFornecedor(fornecedoresPorID.pesquisarInt(documento)));
+            }
+        }
+        return nomeArquivo;
+    }
+
     static void fornecedoresDoProduto() {
         cabecalho();
         System.out.println("Gerar relatório de fornecedores de um produto.");
-        Produto p = localizarProdutoID(produtosBalanceadosPorId);
+        Produto p = localizarProdutoID(produtosEmCache);
         
         if (p == null) return;
 
-        String nomeArquivo = "FornecedoresDoProduto_" + p.hashCode() + ".txt";
-
         try {
-            Lista<Fornecedor> lista = fornecedoresDoProduto.pesquisar(p);
-            
-            try (FileWriter fw = new FileWriter(nomeArquivo, Charset.forName("UTF-8"))) {
-                fw.write("RELATÓRIO DE FORNECEDORES\n");
-                fw.write("Produto: " + p.toString() + "\n");
-                fw.write("========================================\n");
-                fw.write(lista.toString()); 
+            String nomeArquivo = gravarRelatorioFornecedores(p);
+            if (nomeArquivo == null)
+                System.out.println("Este produto não possui fornecedores cadastrados.");
+            else
                 System.out.println("Relatório gerado com sucesso: " + nomeArquivo);
-            } catch (IOException e) {
-                System.out.println("Erro ao escrever arquivo: " + e.getMessage());
+        } catch (IOException e) {
+            System.out.println("Erro ao escrever arquivo: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Lê a seleção de produtos para os relatórios em lote: "todos", uma faixa de ids ("10000-10500")
+     * ou uma lista de ids separados por vírgula ("10001,10020").
+     * @return a lista dos produtos selecionados que existem no cadastro, ou null se a seleção for inválida.
+     */
+    static Lista<Produto> lerSelecaoDeProdutos() {
+        Lista<Produto> selecionados = new Lista<>();
+        int primeiro, ultimo;
+
+        System.out.print("Produtos (todos | inicio-fim | id1,id2,...): ");
+        String selecao = teclado.nextLine().trim();
+        try {
+            if (selecao.equalsIgnoreCase("todos")) {
+                primeiro = 10_000;
+                ultimo = 10_000 + quantosProdutos - 1;
+            } else if (selecao.contains("-")) {
+                String[] limites = selecao.split("-");
+                primeiro = Integer.parseInt(limites[0].trim());
+                ultimo = Integer.parseInt(limites[1].trim());
+            } else {
+                for (String id : selecao.split(",")) {
+                    adicionarSeExistir(selecionados, Integer.parseInt(id.trim()));
+                }
+                return selecionados;
             }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            return null;
+        }
+        for (int id = primeiro; id <= ultimo; id++) {
+            adicionarSeExistir(selecionados, id);
+        }
+        return selecionados;
+    }
 
-        } catch (NoSuchElementException e) {
-            System.out.println("Este produto não possui fornecedores cadastrados.");
+    private static void adicionarSeExistir(Lista<Produto> selecionados, int id) {
+        try {
+            selecionados.inserirFinal(produtosBalanceadosPorId.pesquisarInt(id));
+        } catch (NoSuchElementException e) {}
+    }
+
+    static void relatoriosEmLote() {
+        cabecalho();
+        System.out.println("Gerar relatórios de pedidos e de fornecedores em lote.");
+        Lista<Produto> selecionados = lerSelecaoDeProdutos();
+        if (selecionados == null) {
+            System.out.println("Seleção inválida.");
+            return;
         }
+
+        RelatoriosEmLote lote = new RelatoriosEmLote(Runtime.getRuntime().availableProcessors());
+        System.out.println(lote.gerar(selecionados, App::gravarRelatorioPedidos, App::gravarRelatorioFornecedores));
     }
     
-    public static void main(String[] args) {
-        teclado = new Scanner(System.in, Charset.forName("UTF-8"));
+    /**
+     * Carrega produtos e fornecedores, gera os pedidos e monta todos os índices.
+     * @param log destino das mensagens de progresso.
+     * @return true se os produtos foram carregados; false caso contrário.
+     */
+    static boolean carregarDados(PrintStream log) {
         nomeArquivoDados = "produtos.txt";
         String nomeArquivoFornecedores = "fornecedores.txt";
         
-        System.out.println("Carregando produtos...");
-        produtosBalanceadosPorId = lerProdutos(nomeArquivoDados, Produto::hashCode);
+        log.println("Carregando produtos...");
+        produtosBalanceadosPorId = lerProdutos(nomeArquivoDados, Produto::hashCode, new DiretorioDenso<>());
         
         if (produtosBalanceadosPorId == null) {
-            System.out.println("Erro: Arquivo 'produtos.txt' não encontrado.");
-            return;
+            log.println("Erro: Arquivo 'produtos.txt' não encontrado.");
+            return false;
+        }
+        produtosEmCache = new CacheMapeamento<>(produtosBalanceadosPorId, TAMANHO_CACHE);
+        pereciveisPorValidade = new IndiceValidade(LocalDate.now(), log);
+        for (int id = 10_000; id < 10_000 + quantosProdutos; id++) {
+            try {
+                if (produtosBalanceadosPorId.pesquisarInt(id) instanceof ProdutoPerecivel perecivel)
+                    pereciveisPorValidade.registrar(perecivel);
+            } catch (NoSuchElementException e) {}
         }
 
-        produtosBalanceadosPorNome = new AVL<>(produtosBalanceadosPorId, produto -> produto.descricao, String::compareTo);
         pedidosPorProduto = new TabelaHash<>((int)(quantosProdutos * 1.5));
+        pedidosPorProduto.usarFiltroBloom(quantosProdutos, TAXA_FALSOS_POSITIVOS);
+        versaoPedidosPorProduto = new AVLPersistente<>(Integer::compare);
+        pedidosPorData = new AVL<>();
+        vendasPorProduto = new TabelaHash<>((int)(quantosProdutos * 1.5));
+        vendasPorProduto.usarFiltroBloom(quantosProdutos, TAXA_FALSOS_POSITIVOS);
+        produtosMaisVendidos = new RankingTopK<>(TAMANHO_RANKING);
+        maioresFornecedores = new RankingTopK<>(TAMANHO_RANKING);
         
 
-        fornecedoresDoProduto = new TabelaHash<>((int)(quantosProdutos * 1.5));
+        produtoFornecedor = new RelacaoCSR();
 
-        System.out.println("Gerando pedidos aleatórios...");
+        log.println("Gerando pedidos aleatórios...");
         gerarPedidos(1000); 
+        log.println("Pedidos por produto: " + pedidosPorProduto.getFiltroBloom());
 
-        System.out.println("Carregando fornecedores...");
+        log.println("Carregando fornecedores...");
+        fornecedoresPorPrefixo = new ArvoreRadix<>();
  
-        fornecedoresPorID = lerFornecedores(nomeArquivoFornecedores, Fornecedor::getDocumento);
+        fornecedoresPorID = lerFornecedores(nomeArquivoFornecedores, Fornecedor::getDocumento, new DiretorioDenso<>());
 
         if (fornecedoresPorID == null) {
-             System.out.println("Erro: Arquivo 'fornecedores.txt' não encontrado na raiz.");
+             log.println("Erro: Arquivo 'fornecedores.txt' não encontrado na raiz.");
+        } else {
+            fornecedoresEmCache = new CacheMapeamento<>(fornecedoresPorID, TAMANHO_CACHE);
+        }
+        return true;
+    }
+
+    private static <M extends IMapeamento<Integer, Produto>> M copiarProdutos(M destino) {
+        for (int id = 10_000; id < 10_000 + quantosProdutos; id++) {
+            try {
+                destino.inserir(id, produtosBalanceadosPorId.pesquisarInt(id));
+            } catch (NoSuchElementException e) {}
+        }
+        return destino;
+    }
+
+    /**
+     * Mostra como cada estratégia de transformação distribui os ids dos produtos
+     * pelas posições de uma tabela hash com a mesma capacidade das tabelas do sistema.
+     */
+    static void diagnosticarEspalhamento() {
+        String[] nomes = { "Resto da divisão", "Mistura", "Fibonacci", "Mistura com semente" };
+        IEstrategiaHash[] estrategias = { IEstrategiaHash.RESTO_DIVISAO, IEstrategiaHash.MISTURA,
+                IEstrategiaHash.FIBONACCI, IEstrategiaHash.comSemente(42) };
+        for (int i = 0; i < estrategias.length; i++) {
+            TabelaHash<Integer, Produto> tabela = copiarProdutos(new TabelaHash<>((int)(quantosProdutos * 1.5), estrategias[i]));
+            System.out.println(nomes[i] + ": " + tabela.diagnosticar());
+        }
+    }
+
+    /**
+     * Gera uma carga de trabalho com ids de produtos concentrados (Zipf) e a reproduz, à taxa informada,
+     * sobre cópias do cadastro de produtos em diferentes estruturas, mostrando vazão, latências e comparações por pesquisa.
+     * Os relatórios da carga escrevem os pedidos do produto em memória.
+     */
+    static void executarCarga(int quantOperacoes, int operacoesPorSegundo) {
+        GeradorDeCarga gerador = new GeradorDeCarga(42, 10_000, quantosProdutos, 1.0, 80, 5, 5, 10);
+        GeradorDeCarga.Operacao[] operacoes = gerador.gerar(quantOperacoes);
+        Consumer<Produto> relatorio = produto -> {
+            StringBuilder destino = new StringBuilder();
+            try {
+                for (Pedido pedido : pedidosPorProduto.pesquisar(produto))
+                    pedido.escreverEm(destino);
+            } catch (NoSuchElementException | IOException e) {}
+        };
+
+        diagnosticarEspalhamento();
+        System.out.println(new SimuladorDeCarga<>("DiretorioDenso", copiarProdutos(new DiretorioDenso<>()), relatorio)
+                .reproduzir(operacoes, operacoesPorSegundo));
+        System.out.println(new SimuladorDeCarga<>("ListaDeSaltos", copiarProdutos(new ListaDeSaltos<>()), relatorio)
+                .reproduzir(operacoes, operacoesPorSegundo));
+        System.out.println(new SimuladorDeCarga<>("ArvoreSplay", copiarProdutos(new ArvoreSplay<>()), relatorio)
+                .reproduzir(operacoes, operacoesPorSegundo));
+        CacheMapeamento<Integer, Produto> cache = new CacheMapeamento<>(copiarProdutos(new AVL<>()), TAMANHO_CACHE);
+        System.out.println(new SimuladorDeCarga<>("CacheMapeamento(AVL)", cache, relatorio)
+                .reproduzir(operacoes, operacoesPorSegundo)
+                + String.format(" | acertos no cache %.1f%%", 100 * cache.getTaxaAcertos()));
+        System.out.println(new SimuladorDeCarga<>("TabelaHash", copiarProdutos(new TabelaHash<>((int)(quantosProdutos * 1.5))), relatorio)
+                .reproduzir(operacoes, operacoesPorSegundo));
+        System.out.println(new SimuladorDeCarga<>("TabelaCuckoo", copiarProdutos(new TabelaCuckoo<>(quantosProdutos)), relatorio)
+                .reproduzir(operacoes, operacoesPorSegundo));
+        compararBalanceamentos("leitura intensa", operacoes, operacoesPorSegundo, relatorio);
+        compararBalanceamentos("escrita intensa",
+                new GeradorDeCarga(42, 10_000, quantosProdutos, 1.0, 20, 40, 40, 0).gerar(quantOperacoes),
+                operacoesPorSegundo, relatorio);
+        compararInsercaoEmLote();
+    }
+
+    /**
+     * Compara a carga do cadastro de produtos em uma AVL por inserções individuais e por inserções em lote,
+     * com lotes de ids consecutivos, como os de uma carga periódica de produtos novos.
+     */
+    private static void compararInsercaoEmLote() {
+        AVL<Integer, Produto> individual = new AVL<>();
+        AVL<Integer, Produto> emLote = new AVL<>();
+        List<Entrada<Integer, Produto>> lote = new ArrayList<>(TAMANHO_LOTE_CARGA);
+
+        long inicio = System.nanoTime();
+        for (int id = 10_000; id < 10_000 + quantosProdutos; id++) {
+            try {
+                individual.inserir(id, produtosBalanceadosPorId.pesquisarInt(id));
+            } catch (NoSuchElementException e) {}
         }
+        long meio = System.nanoTime();
+        for (int id = 10_000; id < 10_000 + quantosProdutos; id++) {
+            try {
+                lote.add(new Entrada<>(id, produtosBalanceadosPorId.pesquisarInt(id)));
+            } catch (NoSuchElementException e) {}
+            if (lote.size() == TAMANHO_LOTE_CARGA) {
+                emLote.inserirLote(lote);
+                lote.clear();
+            }
+        }
+        emLote.inserirLote(lote);
+        long fim = System.nanoTime();
+
+        System.out.println(String.format("Carga de %d produtos em AVL: individual %.2f ms (%d rotações) | "
+                + "em lotes de %d: %.2f ms (%d rotações)", individual.tamanho(), (meio - inicio) / 1e6,
+                individual.getRotacoes(), TAMANHO_LOTE_CARGA, (fim - meio) / 1e6, emLote.getRotacoes()));
+    }
+
+    /**
+     * Reproduz a mesma carga sobre árvores com cada estratégia de balanceamento,
+     * mostrando também quantas rotações cada uma fez durante a carga.
+     */
+    private static void compararBalanceamentos(String descricao, GeradorDeCarga.Operacao[] operacoes,
+            int operacoesPorSegundo, Consumer<Produto> relatorio) {
+        System.out.println("Árvores balanceadas, " + descricao + ":");
+        for (ABB.Balanceamento balanceamento : ABB.Balanceamento.values()) {
+            if (balanceamento == ABB.Balanceamento.NENHUM)
+                continue;   // ids inseridos em ordem degenerariam a árvore em uma lista.
+            ABB<Integer, Produto> arvore = copiarProdutos(ABB.criar(balanceamento, Integer::compare));
+            long rotacoesIniciais = arvore.getRotacoes();
+            System.out.println(new SimuladorDeCarga<>(balanceamento.toString(), arvore, relatorio)
+                    .reproduzir(operacoes, operacoesPorSegundo) + " | rotações " + (arvore.getRotacoes() - rotacoesIniciais));
+        }
+    }
+
+    /**
+     * Sem argumentos, executa o menu interativo.
+     * Com "--servico", carrega os índices e atende consultas pela entrada padrão;
+     * com "--servico PORTA", atende consultas por socket local (ver {@link ServicoConsultas}).
+     * Com "--carga [OPERACOES] [OPERACOES_POR_SEGUNDO]", reproduz uma carga de trabalho sintética.
+     * No menu e no serviço, registros acrescentados aos arquivos do diretório de entrada são incluídos nos índices
+     * sem reiniciar (ver {@link IngestaoIncremental}): no menu, antes de cada opção; no serviço, periodicamente.
+     * Da mesma forma, a cada novo dia, os preços dos perecíveis que entraram no prazo de desconto ou venceram
+     * são atualizados (ver {@link IndiceValidade}): no menu, antes de cada opção; no serviço, após a meia-noite.
+     */
+    public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--carga")) {
+            if (!carregarDados(System.err)) return;
+            try {
+                int quantOperacoes = (args.length > 1) ? Integer.parseInt(args[1]) : 100_000;
+                int operacoesPorSegundo = (args.length > 2) ? Integer.parseInt(args[2]) : 0;
+                executarCarga(quantOperacoes, operacoesPorSegundo);
+            } catch (NumberFormatException e) {
+                System.err.println("Parâmetros inválidos para a carga: " + e.getMessage());
+            }
+            return;
+        }
+
+        if (args.length > 0 && args[0].equals("--servico")) {
+            if (!carregarDados(System.err)) return;
+            ServicoConsultas servico = new ServicoConsultas();
+            try (IngestaoIncremental ingestao = new IngestaoIncremental(DIRETORIO_ENTRADA, System.err);
+                    IndiceValidade varredura = pereciveisPorValidade) {
+                ingestao.iniciar(INTERVALO_INGESTAO);
+                varredura.iniciar();
+                if (args.length > 1)
+                    servico.servirSocket(Integer.parseInt(args[1]));
+                else
+                    servico.servirEntradaPadrao();
+            } catch (IOException | NumberFormatException e) {
+                System.err.println("Erro no serviço de consultas: " + e.getMessage());
+            }
+            return;
+        }
+
+        teclado = new Scanner(System.in, Charset.forName("UTF-8"));
+        if (!carregarDados(System.out)) return;
+        IngestaoIncremental ingestao = new IngestaoIncremental(DIRETORIO_ENTRADA, System.out);
        
         int opcao = -1;
       
         do {
+            IngestaoIncremental.Resumo novos = ingestao.verificar();
+            if (!novos.vazio()) System.out.println(novos);
+            IndiceValidade.Resumo precos = pereciveisPorValidade.varrer(LocalDate.now());
+            if (!precos.vazio()) System.out.println(precos);
             opcao = menu();
             switch (opcao) {
-                case 1 -> mostrarProduto(localizarProdutoID(produtosBalanceadosPorId));
+                case 1 -> mostrarProduto(localizarProdutoID(produtosEmCache));
                 case 2 -> pedidosDoProduto();
                 case 3 -> relatorioDeFornecedor(); 
                 case 4 -> fornecedoresDoProduto();
+                case 5 -> pedidosPorPeriodo();
+                case 6 -> rankings();
+                case 7 -> procurarPorPalavras();
+                case 8 -> autocompletar();
+                case 9 -> relatoriosEmLote();
+                case 10 -> compararFornecedores();
+                case 11 -> resumoDoCatalogo();
                 case 0 -> System.out.println("Saindo...");
                 default -> System.out.println("Opção inválida!");
             }
@@ -320,4 +941,4 @@ public class App {
 
         teclado.close();    
     }
-}
\ No newline at end of file
+}
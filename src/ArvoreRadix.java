@@ -0,0 +1,301 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Árvore radix (trie compactada) com chaves do tipo String.
+ * Cada aresta armazena um trecho de chave, e chaves com o mesmo início compartilham os nós desse prefixo.
+ * Uma pesquisa custa O(tamanho da chave), sem comparações de Strings inteiras em cada nível,
+ * e o autocompletar ({@link #prefixo(String, int)}) custa O(tamanho do prefixo + quantidade de resultados).
+ * Os filhos de cada nó são mantidos ordenados pelo primeiro caractere de seu trecho, de modo que os itens
+ * são percorridos na mesma ordem de {@code String.compareTo}.
+ */
+public class ArvoreRadix<V> implements IMapeamento<String, V> {
+
+	private static class NoRadix<V> {
+		private String trecho;          // parte da chave representada pela aresta que chega a este nó.
+		private V item;
+		private boolean possuiItem;     // indica se alguma chave termina neste nó.
+		private NoRadix<V>[] filhos;    // filhos ordenados pelo primeiro caractere do trecho.
+		private int quantFilhos;
+
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		private NoRadix(String trecho) {
+			this.trecho = trecho;
+			this.possuiItem = false;
+			this.filhos = (NoRadix<V>[]) new NoRadix[2];
+			this.quantFilhos = 0;
+		}
+
+		/** Pesquisa binária do filho cujo trecho começa pelo caractere informado. */
+		private int posicaoFilho(char inicial) {
+			int esquerda = 0, direita = quantFilhos - 1, meio;
+			while (esquerda <= direita) {
+				meio = (esquerda + direita) >>> 1;
+				char atual = filhos[meio].trecho.charAt(0);
+				if (atual == inicial)
+					return meio;
+				else if (atual < inicial)
+					esquerda = meio + 1;
+				else
+					direita = meio - 1;
+			}
+			return -(esquerda + 1);
+		}
+
+		private void adicionarFilho(NoRadix<V> filho) {
+			int posicao = -(posicaoFilho(filho.trecho.charAt(0)) + 1);
+			if (quantFilhos == filhos.length)
+				filhos = Arrays.copyOf(filhos, 2 * filhos.length);
+			System.arraycopy(filhos, posicao, filhos, posicao + 1, quantFilhos - posicao);
+			filhos[posicao] = filho;
+			quantFilhos++;
+		}
+
+		private void removerFilho(int posicao) {
+			System.arraycopy(filhos, posicao + 1, filhos, posicao, quantFilhos - posicao - 1);
+			filhos[--quantFilhos] = null;
+		}
+
+		/** Absorve o único filho deste nó, concatenando os trechos. */
+		private void fundirComFilho() {
+			NoRadix<V> filho = filhos[0];
+			trecho = trecho + filho.trecho;
+			item = filho.item;
+			possuiItem = filho.possuiItem;
+			filhos = filho.filhos;
+			quantFilhos = filho.quantFilhos;
+		}
+	}
+
+	private final NoRadix<V> raiz;
+	private int tamanho;
+	private long comparacoes;
+	private long inicio;
+	private long termino;
+
+	/**
+	 * Construtor da classe.
+	 * Esse construtor cria uma nova árvore radix vazia.
+	 */
+	public ArvoreRadix() {
+		raiz = new NoRadix<>("");
+		tamanho = 0;
+	}
+
+	/**
+	 * Quantidade de caracteres iniciais que o trecho tem em comum com a chave, a partir da posição informada.
+	 */
+	private int prefixoComum(String trecho, String chave, int posicao) {
+		int limite = Math.min(trecho.length(), chave.length() - posicao);
+		int i = 0;
+		while (i < limite && trecho.charAt(i) == chave.charAt(posicao + i)) {
+			comparacoes++;
+			i++;
+		}
+		return i;
+	}
+
+	/**
+	 * Localiza o nó em que a chave termina.
+	 * @return o nó correspondente à chave, ou null se nenhum caminho da árvore corresponde à chave.
+	 */
+	private NoRadix<V> localizar(String chave) {
+
+		NoRadix<V> atual = raiz;
+		int posicao = 0, indice;
+
+		while (posicao < chave.length()) {
+			comparacoes++;
+			indice = atual.posicaoFilho(chave.charAt(posicao));
+			if (indice < 0)
+				return null;
+			atual = atual.filhos[indice];
+			if (prefixoComum(atual.trecho, chave, posicao) != atual.trecho.length())
+				return null;
+			posicao += atual.trecho.length();
+		}
+		return atual;
+	}
+
+	/**
+	 * Pesquisa o item associado à chave informada.
+	 * @param chave a chave do item que será pesquisado.
+	 * @return o item associado à chave.
+	 * @throws NoSuchElementException caso a chave não esteja presente na árvore.
+	 */
+	@Override
+	public V pesquisar(String chave) {
+
+		NoRadix<V> encontrado;
+
+		comparacoes = 0;
+		inicio = System.nanoTime();
+		encontrado = localizar(chave);
+		termino = System.nanoTime();
+
+		if (encontrado == null || !encontrado.possuiItem)
+			throw new NoSuchElementException("O item não foi localizado na árvore!");
+		return encontrado.item;
+	}
+
+	/**
+	 * Insere um item associado à chave informada, dividindo uma aresta quando a chave diverge de seu trecho.
+	 * @param chave a chave associada ao item.
+	 * @param item o item que será inserido.
+	 * @return o tamanho atualizado da árvore.
+	 * @throws IllegalArgumentException se um item com a mesma chave já estiver presente na árvore.
+	 */
+	@Override
+	public int inserir(String chave, V item) {
+
+		NoRadix<V> atual = raiz, filho, intermediario, folha;
+		int posicao = 0, indice, comum;
+
+		while (posicao < chave.length()) {
+			indice = atual.posicaoFilho(chave.charAt(posicao));
+			if (indice < 0) {
+				/// Nenhum filho começa pelo próximo caractere: o restante da chave vira uma nova folha.
+				folha = new NoRadix<>(chave.substring(posicao));
+				folha.item = item;
+				folha.possuiItem = true;
+				atual.adicionarFilho(folha);
+				return ++tamanho;
+			}
+			filho = atual.filhos[indice];
+			comum = prefixoComum(filho.trecho, chave, posicao);
+			if (comum < filho.trecho.length()) {
+				/// A chave diverge no meio do trecho: a aresta é dividida em um nó intermediário.
+				intermediario = new NoRadix<>(filho.trecho.substring(0, comum));
+				filho.trecho = filho.trecho.substring(comum);
+				intermediario.adicionarFilho(filho);
+				atual.filhos[indice] = intermediario;
+				filho = intermediario;
+			}
+			atual = filho;
+			posicao += comum;
+		}
+
+		if (atual.possuiItem)
+			throw new IllegalArgumentException("O item já foi inserido anteriormente na árvore.");
+		atual.item = item;
+		atual.possuiItem = true;
+		return ++tamanho;
+	}
+
+	/**
+	 * Remove o item associado à chave informada, fundindo os nós que deixam de ser necessários.
+	 * @param chave a chave do item que será removido.
+	 * @return o item removido.
+	 * @throws NoSuchElementException caso a chave não esteja presente na árvore.
+	 */
+	@Override
+	public V remover(String chave) {
+
+		NoRadix<V> pai = null, atual = raiz;
+		int posicao = 0, indice = -1;
+		V removido;
+
+		while (posicao < chave.length()) {
+			indice = atual.posicaoFilho(chave.charAt(posicao));
+			if (indice < 0)
+				throw new NoSuchElementException("O item a ser removido não foi localizado na árvore!");
+			pai = atual;
+			atual = atual.filhos[indice];
+			if (prefixoComum(atual.trecho, chave, posicao) != atual.trecho.length())
+				throw new NoSuchElementException("O item a ser removido não foi localizado na árvore!");
+			posicao += atual.trecho.length();
+		}
+		if (!atual.possuiItem)
+			throw new NoSuchElementException("O item a ser removido não foi localizado na árvore!");
+
+		removido = atual.item;
+		atual.item = null;
+		atual.possuiItem = false;
+		tamanho--;
+
+		if (pai != null) {
+			if (atual.quantFilhos == 0) {
+				pai.removerFilho(indice);
+				if (pai != raiz && !pai.possuiItem && pai.quantFilhos == 1)
+					pai.fundirComFilho();
+			} else if (atual.quantFilhos == 1) {
+				atual.fundirComFilho();
+			}
+		}
+		return removido;
+	}
+
+	/**
+	 * Retorna, em ordem, os primeiros itens cujas chaves começam pelo prefixo informado.
+	 * @param prefixo início das chaves procuradas.
+	 * @param limite quantidade máxima de itens retornados.
+	 * @return uma lista com até "limite" itens. A lista pode estar vazia.
+	 */
+	public Lista<V> prefixo(String prefixo, int limite) {
+
+		Lista<V> encontrados = new Lista<>();
+		NoRadix<V> atual = raiz;
+		int posicao = 0, indice, comum;
+
+		comparacoes = 0;
+		inicio = System.nanoTime();
+		while (posicao < prefixo.length() && atual != null) {
+			comparacoes++;
+			indice = atual.posicaoFilho(prefixo.charAt(posicao));
+			if (indice < 0) {
+				atual = null;
+			} else {
+				atual = atual.filhos[indice];
+				comum = prefixoComum(atual.trecho, prefixo, posicao);
+				/// O prefixo pode terminar no meio do trecho; caso contrário, o trecho inteiro deve coincidir.
+				if (posicao + comum < prefixo.length() && comum < atual.trecho.length())
+					atual = null;
+				posicao += comum;
+			}
+		}
+		if (atual != null && limite > 0)
+			coletar(atual, encontrados, limite);
+		termino = System.nanoTime();
+		return encontrados;
+	}
+
+	private void coletar(NoRadix<V> no, Lista<V> encontrados, int limite) {
+
+		if (no.possuiItem)
+			encontrados.inserirFinal(no.item);
+		for (int i = 0; i < no.quantFilhos && encontrados.tamanho() < limite; i++)
+			coletar(no.filhos[i], encontrados, limite);
+	}
+
+	@Override
+	public String toString() {
+		return percorrer();
+	}
+
+	@Override
+	public String percorrer() {
+
+		StringBuilder resposta = new StringBuilder();
+
+		if (tamanho == 0)
+			throw new IllegalStateException("A árvore está vazia!");
+		for (V item : prefixo("", tamanho))
+			resposta.append(item).append("\n");
+		return resposta.toString();
+	}
+
+	@Override
+	public int tamanho() {
+		return tamanho;
+	}
+
+	@Override
+	public long getComparacoes() {
+		return comparacoes;
+	}
+
+	@Override
+	public double getTempo() {
+		return (termino - inicio) / 1_000_000;
+	}
+}
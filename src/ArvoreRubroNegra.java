@@ -0,0 +1,297 @@
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+
+/**
+ * Árvore rubro-negra.
+ * Cada nó é vermelho ou preto; nenhum nó vermelho tem filho vermelho e todo caminho da raiz até uma folha
+ * passa pelo mesmo número de nós pretos, o que limita a altura a 2 log n.
+ * Diferentemente da AVL, que pode rotacionar em todos os níveis do caminho de uma remoção,
+ * cada inserção faz no máximo duas rotações e cada remoção no máximo três; os demais ajustes são trocas de cor.
+ */
+public class ArvoreRubroNegra<K, V> extends ABB<K, V> {
+
+	private static final boolean VERMELHO = true;
+	private static final boolean PRETO = false;
+
+	private static class NoRubroNegro<K, V> extends No<K, V> {
+		private boolean cor;
+
+		private NoRubroNegro(K chave, V item) {
+			super(chave, item);
+			cor = VERMELHO;
+		}
+	}
+
+	private final Comparator<K> comparador;
+	private boolean faltaPreto; // indica, durante uma remoção, que a sub-árvore retornada perdeu um nó preto.
+
+	/**
+	 * Construtor da classe.
+	 * O comparador padrão de ordem natural será utilizado.
+	 */
+	@SuppressWarnings("unchecked")
+	public ArvoreRubroNegra() {
+		this((Comparator<K>) Comparator.naturalOrder());
+	}
+
+	/**
+	 * Construtor da classe.
+	 * Esse construtor cria uma nova árvore rubro-negra vazia.
+	 * @param comparador o comparador a ser utilizado para organizar os elementos da árvore.
+	 */
+	public ArvoreRubroNegra(Comparator<K> comparador) {
+		super(comparador);
+		this.comparador = comparador;
+	}
+
+	@Override
+	protected No<K, V> criarNo(K chave, V item) {
+		return new NoRubroNegro<>(chave, item);
+	}
+
+	private static boolean vermelho(No<?, ?> no) {
+		return (no != null) && ((NoRubroNegro<?, ?>) no).cor == VERMELHO;
+	}
+
+	private static void pintar(No<?, ?> no, boolean cor) {
+		((NoRubroNegro<?, ?>) no).cor = cor;
+	}
+
+	/**
+	 * Insere o item e pinta a raiz de preto, como exige a definição da árvore.
+	 */
+	@Override
+	public int inserir(K chave, V item) {
+
+		int tamanho = super.inserir(chave, item);
+
+		pintar(getRaiz(), PRETO);
+		return tamanho;
+	}
+
+	/**
+	 * Insere os itens do lote um a um, em ordem de chave: a junção de sub-árvores usada por {@link ABB#inserirLote}
+	 * não preserva as regras da cor dos nós.
+	 * Se uma chave já estiver na árvore, os itens do lote já inseridos são retirados.
+	 */
+	@Override
+	public int inserirLote(Collection<Entrada<K, V>> lote) {
+
+		Entrada<K, V>[] ordenadas = ordenarLote(lote);
+
+		for (int i = 0; i < ordenadas.length; i++) {
+			try {
+				inserir(ordenadas[i].getChave(), ordenadas[i].getValor());
+			} catch (IllegalArgumentException excecao) {
+				for (int j = 0; j < i; j++)
+					remover(ordenadas[j].getChave());
+				throw excecao;
+			}
+		}
+		return tamanho();
+	}
+
+	@Override
+	public V remover(K chave) {
+
+		V removido;
+
+		faltaPreto = false;
+		removido = super.remover(chave);
+		if (getRaiz() != null)
+			pintar(getRaiz(), PRETO);
+		return removido;
+	}
+
+	/**
+	 * Método recursivo responsável por adicionar um item à árvore.
+	 * O novo nó é vermelho. Na volta da recursão, cada nó verifica se um de seus filhos e um neto
+	 * são vermelhos: se o outro filho (tio do neto) também for vermelho, as cores são trocadas e o problema
+	 * sobe dois níveis; caso contrário, uma ou duas rotações encerram a correção.
+	 * @return a raiz atualizada da sub-árvore rubro-negra em que o item foi adicionado.
+	 */
+	@Override
+	protected No<K, V> inserir(No<K, V> raizArvore, K chave, V item) {
+
+		No<K, V> filho;
+
+		raizArvore = super.inserir(raizArvore, chave, item);
+
+		filho = raizArvore.getEsquerda();
+		if (vermelho(filho) && (vermelho(filho.getEsquerda()) || vermelho(filho.getDireita()))) {
+			if (vermelho(raizArvore.getDireita())) {
+				inverterCores(raizArvore);
+			} else {
+				if (vermelho(filho.getDireita()))
+					raizArvore.setEsquerda(rotacionarEsquerda(filho));
+				raizArvore = girarDireita(raizArvore);
+			}
+			return raizArvore;
+		}
+		filho = raizArvore.getDireita();
+		if (vermelho(filho) && (vermelho(filho.getEsquerda()) || vermelho(filho.getDireita()))) {
+			if (vermelho(raizArvore.getEsquerda())) {
+				inverterCores(raizArvore);
+			} else {
+				if (vermelho(filho.getEsquerda()))
+					raizArvore.setDireita(rotacionarDireita(filho));
+				raizArvore = girarEsquerda(raizArvore);
+			}
+		}
+		return raizArvore;
+	}
+
+	/**
+	 * Método recursivo responsável por localizar um item na árvore e retirá-lo da árvore.
+	 * Um nó com dois filhos é substituído pelo sucessor, que é retirado da sub-árvore direita.
+	 * Se o nó efetivamente retirado for preto, sua sub-árvore fica com um preto a menos,
+	 * e a falta é corrigida na volta da recursão.
+	 * @return a raiz atualizada da sub-árvore rubro-negra da qual o item foi retirado.
+	 */
+	@Override
+	protected No<K, V> remover(No<K, V> raizArvore, K chaveRemover) {
+
+		int comparacao;
+		No<K, V> sucessor;
+
+		if (raizArvore == null)
+			throw new NoSuchElementException("O item a ser removido não foi localizado na árvore!");
+
+		comparacao = comparador.compare(chaveRemover, raizArvore.getChave());
+
+		if (comparacao < 0) {
+			raizArvore.setEsquerda(remover(raizArvore.getEsquerda(), chaveRemover));
+			return faltaPreto ? corrigirFaltaEsquerda(raizArvore) : raizArvore;
+		}
+		if (comparacao > 0) {
+			raizArvore.setDireita(remover(raizArvore.getDireita(), chaveRemover));
+			return faltaPreto ? corrigirFaltaDireita(raizArvore) : raizArvore;
+		}
+		if (raizArvore.getEsquerda() != null && raizArvore.getDireita() != null) {
+			sucessor = raizArvore.getDireita();
+			while (sucessor.getEsquerda() != null)
+				sucessor = sucessor.getEsquerda();
+			raizArvore.setChave(sucessor.getChave());
+			raizArvore.setItem(sucessor.getItem());
+			raizArvore.setDireita(removerMenor(raizArvore.getDireita()));
+			return faltaPreto ? corrigirFaltaDireita(raizArvore) : raizArvore;
+		}
+		return retirar(raizArvore);
+	}
+
+	private No<K, V> removerMenor(No<K, V> raizArvore) {
+
+		if (raizArvore.getEsquerda() == null)
+			return retirar(raizArvore);
+		raizArvore.setEsquerda(removerMenor(raizArvore.getEsquerda()));
+		return faltaPreto ? corrigirFaltaEsquerda(raizArvore) : raizArvore;
+	}
+
+	/**
+	 * Retira um nó com no máximo um filho. Se o nó for vermelho, ou se seu filho for vermelho e puder ser
+	 * pintado de preto, a quantidade de pretos do caminho é mantida; senão, a falta é sinalizada ao pai.
+	 */
+	private No<K, V> retirar(No<K, V> retirado) {
+
+		No<K, V> filho = (retirado.getEsquerda() != null) ? retirado.getEsquerda() : retirado.getDireita();
+
+		if (vermelho(retirado))
+			faltaPreto = false;
+		else if (vermelho(filho)) {
+			pintar(filho, PRETO);
+			faltaPreto = false;
+		} else
+			faltaPreto = true;
+		return filho;
+	}
+
+	/**
+	 * Corrige a falta de um nó preto na sub-árvore esquerda de p, usando o irmão (filho direito de p).
+	 * @return a raiz atualizada da sub-árvore. {@code faltaPreto} indica se a falta subiu para o pai de p.
+	 */
+	private No<K, V> corrigirFaltaEsquerda(No<K, V> p) {
+
+		No<K, V> irmao = p.getDireita();
+		No<K, V> novaRaiz;
+
+		if (vermelho(irmao)) {
+			/// Irmão vermelho: após a rotação, p (agora vermelho) tem um irmão preto e a falta é resolvida abaixo.
+			novaRaiz = girarEsquerda(p);
+			novaRaiz.setEsquerda(corrigirFaltaEsquerda(p));
+			faltaPreto = false;
+			return novaRaiz;
+		}
+		if (!vermelho(irmao.getEsquerda()) && !vermelho(irmao.getDireita())) {
+			/// Irmão preto sem filhos vermelhos: o irmão fica vermelho e a falta passa para p.
+			pintar(irmao, VERMELHO);
+			faltaPreto = !vermelho(p);
+			pintar(p, PRETO);
+			return p;
+		}
+		if (!vermelho(irmao.getDireita()))
+			p.setDireita(girarDireita(irmao));
+		novaRaiz = rotacionarEsquerda(p);
+		pintar(novaRaiz, vermelho(p));
+		pintar(p, PRETO);
+		pintar(novaRaiz.getDireita(), PRETO);
+		faltaPreto = false;
+		return novaRaiz;
+	}
+
+	/**
+	 * Corrige a falta de um nó preto na sub-árvore direita de p, simétrica a {@link #corrigirFaltaEsquerda}.
+	 */
+	private No<K, V> corrigirFaltaDireita(No<K, V> p) {
+
+		No<K, V> irmao = p.getEsquerda();
+		No<K, V> novaRaiz;
+
+		if (vermelho(irmao)) {
+			novaRaiz = girarDireita(p);
+			novaRaiz.setDireita(corrigirFaltaDireita(p));
+			faltaPreto = false;
+			return novaRaiz;
+		}
+		if (!vermelho(irmao.getEsquerda()) && !vermelho(irmao.getDireita())) {
+			pintar(irmao, VERMELHO);
+			faltaPreto = !vermelho(p);
+			pintar(p, PRETO);
+			return p;
+		}
+		if (!vermelho(irmao.getEsquerda()))
+			p.setEsquerda(girarEsquerda(irmao));
+		novaRaiz = rotacionarDireita(p);
+		pintar(novaRaiz, vermelho(p));
+		pintar(p, PRETO);
+		pintar(novaRaiz.getEsquerda(), PRETO);
+		faltaPreto = false;
+		return novaRaiz;
+	}
+
+	private void inverterCores(No<K, V> raizArvore) {
+		pintar(raizArvore, VERMELHO);
+		pintar(raizArvore.getEsquerda(), PRETO);
+		pintar(raizArvore.getDireita(), PRETO);
+	}
+
+	/** Rotação à esquerda: a nova raiz herda a cor da antiga, que passa a ser vermelha. */
+	private No<K, V> girarEsquerda(No<K, V> p) {
+
+		No<K, V> z = rotacionarEsquerda(p);
+
+		pintar(z, vermelho(p));
+		pintar(p, VERMELHO);
+		return z;
+	}
+
+	/** Rotação à direita: a nova raiz herda a cor da antiga, que passa a ser vermelha. */
+	private No<K, V> girarDireita(No<K, V> p) {
+
+		No<K, V> u = rotacionarDireita(p);
+
+		pintar(u, vermelho(p));
+		pintar(p, VERMELHO);
+		return u;
+	}
+}
@@ -0,0 +1,275 @@
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.NoSuchElementException;
+
+/**
+ * Árvore splay: árvore binária de busca autoajustável.
+ * Toda pesquisa, inserção ou remoção traz o nó acessado para a raiz por rotações (splay descendente),
+ * e os nós vizinhos no caminho sobem junto. Não há informação de balanceamento nos nós.
+ * Chaves acessadas com frequência ficam perto da raiz e são encontradas com poucas comparações;
+ * o custo amortizado de cada operação é O(log n), mesmo quando os acessos são uniformes.
+ */
+public class ArvoreSplay<K, V> implements IMapeamento<K, V> {
+
+	private No<K, V> raiz;
+	private final Comparator<K> comparador;
+	private int tamanho;
+	private long comparacoes;
+	private long inicio;
+	private long termino;
+
+	/**
+	 * Construtor da classe.
+	 * O comparador padrão de ordem natural será utilizado.
+	 */
+	@SuppressWarnings("unchecked")
+	public ArvoreSplay() {
+		this((Comparator<K>) Comparator.naturalOrder());
+	}
+
+	/**
+	 * Construtor da classe.
+	 * Esse construtor cria uma nova árvore splay vazia.
+	 * @param comparador o comparador a ser utilizado para organizar os elementos da árvore.
+	 */
+	public ArvoreSplay(Comparator<K> comparador) {
+		this.comparador = comparador;
+		raiz = null;
+		tamanho = 0;
+	}
+
+	/**
+	 * Reorganiza a árvore de modo que a raiz passe a ser o nó com a chave procurada ou, se ela não estiver
+	 * presente, o último nó visitado na busca por ela (seu antecessor ou sucessor).
+	 * A descida separa os nós visitados em uma árvore de menores e uma de maiores, que são
+	 * reunidas sob o novo nó raiz ao final; pares de passos na mesma direção fazem uma rotação (zig-zig).
+	 * @return a nova raiz da árvore.
+	 */
+	private No<K, V> splay(No<K, V> raizArvore, K chave) {
+
+		No<K, V> cabecalho;      // cabecalho.direita: árvore dos menores; cabecalho.esquerda: árvore dos maiores.
+		No<K, V> maiorDosMenores, menorDosMaiores, filho;
+		int comparacao, comparacaoFilho;
+		boolean conhecida = false;  // a comparação com o nó atual já foi feita no passo anterior.
+
+		if (raizArvore == null)
+			return null;
+
+		cabecalho = new No<>(null, null);
+		maiorDosMenores = menorDosMaiores = cabecalho;
+
+		comparacao = 0;
+		while (true) {
+			if (!conhecida) {
+				comparacoes++;
+				comparacao = comparador.compare(chave, raizArvore.getChave());
+			}
+			conhecida = false;
+			if (comparacao < 0) {
+				filho = raizArvore.getEsquerda();
+				if (filho == null)
+					break;
+				comparacoes++;
+				comparacaoFilho = comparador.compare(chave, filho.getChave());
+				if (comparacaoFilho < 0) {
+					/// Zig-zig: rotação à direita antes de descer.
+					raizArvore.setEsquerda(filho.getDireita());
+					filho.setDireita(raizArvore);
+					raizArvore = filho;
+					if (raizArvore.getEsquerda() == null)
+						break;
+				} else {
+					/// Desce para o filho, cuja comparação já é conhecida.
+					comparacao = comparacaoFilho;
+					conhecida = true;
+				}
+				menorDosMaiores.setEsquerda(raizArvore);
+				menorDosMaiores = raizArvore;
+				raizArvore = raizArvore.getEsquerda();
+			} else if (comparacao > 0) {
+				filho = raizArvore.getDireita();
+				if (filho == null)
+					break;
+				comparacoes++;
+				comparacaoFilho = comparador.compare(chave, filho.getChave());
+				if (comparacaoFilho > 0) {
+					/// Zig-zig: rotação à esquerda antes de descer.
+					raizArvore.setDireita(filho.getEsquerda());
+					filho.setEsquerda(raizArvore);
+					raizArvore = filho;
+					if (raizArvore.getDireita() == null)
+						break;
+				} else {
+					comparacao = comparacaoFilho;
+					conhecida = true;
+				}
+				maiorDosMenores.setDireita(raizArvore);
+				maiorDosMenores = raizArvore;
+				raizArvore = raizArvore.getDireita();
+			} else {
+				break;
+			}
+		}
+
+		maiorDosMenores.setDireita(raizArvore.getEsquerda());
+		menorDosMaiores.setEsquerda(raizArvore.getDireita());
+		raizArvore.setEsquerda(cabecalho.getDireita());
+		raizArvore.setDireita(cabecalho.getEsquerda());
+		return raizArvore;
+	}
+
+	/**
+	 * Pesquisa o item associado à chave e o traz para a raiz da árvore.
+	 * @return o item associado à chave.
+	 * @throws NoSuchElementException caso a chave não esteja presente na árvore.
+	 */
+	@Override
+	public V pesquisar(K chave) {
+
+		comparacoes = 0;
+		inicio = System.nanoTime();
+		raiz = splay(raiz, chave);
+		termino = System.nanoTime();
+
+		if (raiz == null || comparador.compare(chave, raiz.getChave()) != 0)
+			throw new NoSuchElementException("O item não foi localizado na árvore!");
+		return raiz.getItem();
+	}
+
+	/**
+	 * Insere um item associado à chave informada. O novo nó passa a ser a raiz da árvore.
+	 * @return o tamanho atualizado da árvore.
+	 * @throws IllegalArgumentException se um item com a mesma chave já estiver presente na árvore.
+	 */
+	@Override
+	public int inserir(K chave, V item) {
+
+		No<K, V> novo = new No<>(chave, item);
+		int comparacao;
+
+		if (raiz != null) {
+			raiz = splay(raiz, chave);
+			comparacao = comparador.compare(chave, raiz.getChave());
+			if (comparacao == 0)
+				throw new IllegalArgumentException("O item já foi inserido anteriormente na árvore.");
+			if (comparacao < 0) {
+				novo.setEsquerda(raiz.getEsquerda());
+				novo.setDireita(raiz);
+				raiz.setEsquerda(null);
+			} else {
+				novo.setDireita(raiz.getDireita());
+				novo.setEsquerda(raiz);
+				raiz.setDireita(null);
+			}
+		}
+		raiz = novo;
+		tamanho++;
+		return tamanho;
+	}
+
+	/**
+	 * Remove o item associado à chave informada.
+	 * O nó é trazido para a raiz e substituído pelo maior nó de sua sub-árvore esquerda.
+	 * @return o item removido.
+	 * @throws NoSuchElementException caso a chave não esteja presente na árvore.
+	 */
+	@Override
+	public V remover(K chave) {
+
+		No<K, V> removido, direita;
+
+		raiz = splay(raiz, chave);
+		if (raiz == null || comparador.compare(chave, raiz.getChave()) != 0)
+			throw new NoSuchElementException("O item a ser removido não foi localizado na árvore!");
+
+		removido = raiz;
+		direita = raiz.getDireita();
+		if (raiz.getEsquerda() == null) {
+			raiz = direita;
+		} else {
+			/// Todas as chaves da sub-árvore esquerda são menores: o splay traz a maior delas para a raiz, sem filho à direita.
+			raiz = splay(raiz.getEsquerda(), chave);
+			raiz.setDireita(direita);
+		}
+		tamanho--;
+		return removido.getItem();
+	}
+
+	/**
+	 * Retorna, em ordem crescente de chave, os itens cujas chaves estão no intervalo informado (limites inclusos).
+	 * A varredura não reorganiza a árvore. Como a árvore pode ficar muito alta entre dois splays,
+	 * o caminhamento usa uma pilha explícita em vez de recursão.
+	 * @return uma lista com os itens encontrados. A lista pode estar vazia.
+	 */
+	public Lista<V> pesquisarIntervalo(K chaveInicial, K chaveFinal) {
+
+		Lista<V> encontrados = new Lista<>();
+		Deque<No<K, V>> pendentes = new ArrayDeque<>();
+		No<K, V> atual = raiz;
+
+		comparacoes = 0;
+		inicio = System.nanoTime();
+		while (atual != null || !pendentes.isEmpty()) {
+			if (atual != null) {
+				comparacoes++;
+				if (comparador.compare(chaveInicial, atual.getChave()) <= 0) {
+					pendentes.push(atual);
+					atual = atual.getEsquerda();
+				} else {
+					atual = atual.getDireita();
+				}
+			} else {
+				atual = pendentes.pop();
+				if (comparador.compare(atual.getChave(), chaveFinal) > 0)
+					break;
+				encontrados.inserirFinal(atual.getItem());
+				atual = atual.getDireita();
+			}
+		}
+		termino = System.nanoTime();
+		return encontrados;
+	}
+
+	@Override
+	public String toString() {
+		return percorrer();
+	}
+
+	@Override
+	public String percorrer() {
+
+		StringBuilder resposta = new StringBuilder();
+		Deque<No<K, V>> pendentes = new ArrayDeque<>();
+		No<K, V> atual = raiz;
+
+		if (raiz == null)
+			throw new IllegalStateException("A árvore está vazia!");
+
+		while (atual != null || !pendentes.isEmpty()) {
+			while (atual != null) {
+				pendentes.push(atual);
+				atual = atual.getEsquerda();
+			}
+			atual = pendentes.pop();
+			resposta.append(atual.getItem()).append("\n");
+			atual = atual.getDireita();
+		}
+		return resposta.toString();
+	}
+
+	@Override
+	public int tamanho() {
+		return tamanho;
+	}
+
+	@Override
+	public long getComparacoes() {
+		return comparacoes;
+	}
+
+	@Override
+	public double getTempo() {
+		return (termino - inicio) / 1_000_000;
+	}
+}
@@ -0,0 +1,365 @@
+/**
+ * Cache de tamanho limitado à frente de qualquer {@link IMapeamento}, com política de admissão W-TinyLFU.
+ * Os itens pesquisados ficam em uma tabela hash própria, de modo que chaves populares são encontradas em O(1)
+ * sem consultar o mapeamento de origem. O espaço é dividido em:
+ * <ul>
+ * <li>janela (1% da capacidade), uma LRU pequena que recebe todo item recém-carregado;</li>
+ * <li>área principal, uma LRU segmentada: itens em período de prova e itens protegidos (80% da área),
+ * promovidos ao serem acessados novamente.</li>
+ * </ul>
+ * Quando a janela transborda, o item mais antigo dela só entra na área principal se sua frequência de acesso
+ * estimada for maior do que a do item que seria descartado; assim, uma varredura por chaves frias não expulsa
+ * as chaves quentes. As frequências são estimadas por um esboço Count-Min de contadores de 4 bits,
+ * cujos valores são reduzidos à metade periodicamente para que a popularidade antiga envelheça.
+ * Inserções e remoções são repassadas ao mapeamento de origem e invalidam a chave no cache.
+ * A classe não é segura para uso simultâneo por várias threads, assim como os demais mapeamentos.
+ */
+public class CacheMapeamento<K, V> implements IMapeamento<K, V> {
+
+	private enum Segmento { JANELA, PROVA, PROTEGIDO }
+
+	private static class NoCache<K, V> {
+		private final K chave;
+		private final V item;
+		private final int hash;
+		private Segmento segmento;
+		private NoCache<K, V> anterior, proximo;  // lista LRU do segmento.
+		private NoCache<K, V> proximoNoBalde;     // encadeamento da tabela hash.
+
+		private NoCache(K chave, V item, int hash) {
+			this.chave = chave;
+			this.item = item;
+			this.hash = hash;
+		}
+	}
+
+	/**
+	 * Esboço Count-Min: estimativa, em espaço fixo, de quantas vezes cada chave foi acessada.
+	 * A estimativa nunca é menor do que a frequência real (limitada a 15) e é reduzida à metade a cada amostra.
+	 */
+	private static class EsbocoFrequencia {
+		private static final int[] SEMENTES = { 0x97CB3127, 0xB4B82E39, 0x8F6F2D15, 0xC3A5C85C };
+		private final byte[][] contadores;
+		private final int mascara;
+		private final int tamanhoAmostra;
+		private int incrementos;
+
+		private EsbocoFrequencia(int capacidade) {
+			int largura = Integer.highestOneBit(Math.max(capacidade, 8) - 1) << 1;
+			contadores = new byte[SEMENTES.length][largura];
+			mascara = largura - 1;
+			tamanhoAmostra = 10 * Math.max(capacidade, 8);
+		}
+
+		private int indice(int hash, int linha) {
+			int h = hash * SEMENTES[linha];
+			return (h ^ (h >>> 16)) & mascara;
+		}
+
+		private int estimar(int hash) {
+			int minimo = 15;
+			for (int linha = 0; linha < SEMENTES.length; linha++)
+				minimo = Math.min(minimo, contadores[linha][indice(hash, linha)]);
+			return minimo;
+		}
+
+		private void incrementar(int hash) {
+			for (int linha = 0; linha < SEMENTES.length; linha++) {
+				int i = indice(hash, linha);
+				if (contadores[linha][i] < 15)
+					contadores[linha][i]++;
+			}
+			if (++incrementos >= tamanhoAmostra) {
+				for (byte[] linha : contadores)
+					for (int i = 0; i < linha.length; i++)
+						linha[i] >>= 1;
+				incrementos /= 2;
+			}
+		}
+	}
+
+	private final IMapeamento<K, V> origem;
+	private final NoCache<K, V>[] baldes;
+	private final EsbocoFrequencia frequencias;
+	private final NoCache<K, V> janela, prova, protegidos;  // sentinelas das listas LRU (anterior = mais recente).
+	private final int capacidadeJanela, capacidadePrincipal, capacidadeProtegida;
+	private int quantJanela, quantProva, quantProtegidos;
+	private long acertos, falhas;
+	private long comparacoes;
+	private long inicio;
+	private long termino;
+
+	/**
+	 * Construtor da classe.
+	 * @param origem mapeamento cujos itens serão mantidos em cache.
+	 * @param capacidade quantidade máxima de itens no cache.
+	 * @throws IllegalArgumentException caso a capacidade seja um número não positivo.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public CacheMapeamento(IMapeamento<K, V> origem, int capacidade) {
+
+		if (capacidade < 1)
+			throw new IllegalArgumentException("A capacidade do cache não pode ser menor do que 1.");
+
+		this.origem = origem;
+		capacidadeJanela = Math.max(1, capacidade / 100);
+		capacidadePrincipal = capacidade - capacidadeJanela;
+		capacidadeProtegida = (int) (capacidadePrincipal * 0.8);
+		baldes = (NoCache<K, V>[]) new NoCache[Integer.highestOneBit(Math.max(2 * capacidade, 2) - 1) << 1];
+		frequencias = new EsbocoFrequencia(capacidade);
+		janela = criarSentinela();
+		prova = criarSentinela();
+		protegidos = criarSentinela();
+	}
+
+	private NoCache<K, V> criarSentinela() {
+		NoCache<K, V> sentinela = new NoCache<>(null, null, 0);
+		sentinela.anterior = sentinela.proximo = sentinela;
+		return sentinela;
+	}
+
+	private static int espalhar(int hashCode) {
+		int h = hashCode * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Pesquisa o item no cache e, em caso de falha, no mapeamento de origem.
+	 * O item obtido da origem é colocado na janela do cache.
+	 * As comparações informadas incluem as da origem, quando ela é consultada.
+	 * @return o item associado à chave.
+	 * @throws NoSuchElementException caso a chave não esteja presente no mapeamento de origem.
+	 */
+	@Override
+	public V pesquisar(K chave) {
+
+		int hash = espalhar(chave.hashCode());
+		NoCache<K, V> no;
+		V item;
+
+		comparacoes = 0;
+		inicio = System.nanoTime();
+		frequencias.incrementar(hash);
+		no = localizar(chave, hash);
+		if (no != null) {
+			acertos++;
+			registrarAcesso(no);
+			termino = System.nanoTime();
+			return no.item;
+		}
+
+		falhas++;
+		try {
+			item = origem.pesquisar(chave);
+		} finally {
+			comparacoes += origem.getComparacoes();
+			termino = System.nanoTime();
+		}
+		admitir(new NoCache<>(chave, item, hash));
+		return item;
+	}
+
+	/**
+	 * Insere o item no mapeamento de origem e invalida a chave no cache.
+	 * @return o valor retornado pela inserção no mapeamento de origem.
+	 */
+	@Override
+	public int inserir(K chave, V item) {
+		int resultado = origem.inserir(chave, item);
+		invalidar(chave);
+		return resultado;
+	}
+
+	/**
+	 * Remove o item do mapeamento de origem e invalida a chave no cache.
+	 * @return o item removido.
+	 * @throws NoSuchElementException caso a chave não esteja presente no mapeamento de origem.
+	 */
+	@Override
+	public V remover(K chave) {
+		V removido = origem.remover(chave);
+		invalidar(chave);
+		return removido;
+	}
+
+	/**
+	 * Descarta a chave do cache, se presente, sem alterar o mapeamento de origem.
+	 * Deve ser chamado quando o item associado à chave for alterado diretamente na origem.
+	 */
+	public void invalidar(K chave) {
+
+		NoCache<K, V> no = localizar(chave, espalhar(chave.hashCode()));
+
+		if (no != null)
+			expulsar(no);
+	}
+
+	private NoCache<K, V> localizar(K chave, int hash) {
+
+		NoCache<K, V> no = baldes[hash & (baldes.length - 1)];
+
+		while (no != null) {
+			comparacoes++;
+			if (no.hash == hash && no.chave.equals(chave))
+				return no;
+			no = no.proximoNoBalde;
+		}
+		return null;
+	}
+
+	/**
+	 * Um acesso na janela ou entre os protegidos apenas renova o item;
+	 * um acesso a um item em período de prova o promove a protegido, rebaixando o protegido mais antigo se necessário.
+	 */
+	private void registrarAcesso(NoCache<K, V> no) {
+
+		NoCache<K, V> rebaixado;
+
+		switch (no.segmento) {
+			case JANELA -> moverParaFim(no, janela);
+			case PROTEGIDO -> moverParaFim(no, protegidos);
+			case PROVA -> {
+				desligar(no);
+				quantProva--;
+				ligar(no, protegidos, Segmento.PROTEGIDO);
+				quantProtegidos++;
+				if (quantProtegidos > capacidadeProtegida) {
+					rebaixado = protegidos.proximo;
+					desligar(rebaixado);
+					quantProtegidos--;
+					ligar(rebaixado, prova, Segmento.PROVA);
+					quantProva++;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Coloca um item recém-carregado na janela. Se a janela transbordar, seu item mais antigo disputa
+	 * um lugar na área principal com o item mais antigo em período de prova: fica o de maior frequência estimada.
+	 */
+	private void admitir(NoCache<K, V> novo) {
+
+		NoCache<K, V> candidato, vitima;
+		int balde = novo.hash & (baldes.length - 1);
+
+		novo.proximoNoBalde = baldes[balde];
+		baldes[balde] = novo;
+		ligar(novo, janela, Segmento.JANELA);
+		quantJanela++;
+		if (quantJanela <= capacidadeJanela)
+			return;
+
+		candidato = janela.proximo;
+		desligar(candidato);
+		quantJanela--;
+		if (quantProva + quantProtegidos < capacidadePrincipal) {
+			ligar(candidato, prova, Segmento.PROVA);
+			quantProva++;
+			return;
+		}
+
+		vitima = (quantProva > 0) ? prova.proximo : (quantProtegidos > 0) ? protegidos.proximo : null;
+		if (vitima != null && frequencias.estimar(candidato.hash) > frequencias.estimar(vitima.hash)) {
+			expulsar(vitima);
+			ligar(candidato, prova, Segmento.PROVA);
+			quantProva++;
+		} else {
+			/// O candidato perdeu a disputa: já fora das listas, só precisa sair da tabela hash.
+			retirarDaTabela(candidato);
+		}
+	}
+
+	/** Retira o item do cache: da lista do seu segmento e da tabela hash. */
+	private void expulsar(NoCache<K, V> no) {
+
+		desligar(no);
+		switch (no.segmento) {
+			case JANELA -> quantJanela--;
+			case PROVA -> quantProva--;
+			case PROTEGIDO -> quantProtegidos--;
+		}
+		retirarDaTabela(no);
+	}
+
+	private void retirarDaTabela(NoCache<K, V> no) {
+
+		int balde = no.hash & (baldes.length - 1);
+		NoCache<K, V> atual = baldes[balde], anteriorNoBalde = null;
+
+		while (atual != no) {
+			anteriorNoBalde = atual;
+			atual = atual.proximoNoBalde;
+		}
+		if (anteriorNoBalde == null)
+			baldes[balde] = no.proximoNoBalde;
+		else
+			anteriorNoBalde.proximoNoBalde = no.proximoNoBalde;
+	}
+
+	private void ligar(NoCache<K, V> no, NoCache<K, V> sentinela, Segmento segmento) {
+		no.segmento = segmento;
+		no.proximo = sentinela;
+		no.anterior = sentinela.anterior;
+		sentinela.anterior.proximo = no;
+		sentinela.anterior = no;
+	}
+
+	private void desligar(NoCache<K, V> no) {
+		no.anterior.proximo = no.proximo;
+		no.proximo.anterior = no.anterior;
+		no.anterior = no.proximo = null;
+	}
+
+	private void moverParaFim(NoCache<K, V> no, NoCache<K, V> sentinela) {
+		desligar(no);
+		ligar(no, sentinela, no.segmento);
+	}
+
+	public long getAcertos() {
+		return acertos;
+	}
+
+	public long getFalhas() {
+		return falhas;
+	}
+
+	/**
+	 * @return a fração das pesquisas atendidas pelo cache, entre 0 e 1.
+	 */
+	public double getTaxaAcertos() {
+		return (acertos + falhas == 0) ? 0.0 : (double) acertos / (acertos + falhas);
+	}
+
+	/**
+	 * @return a quantidade de itens atualmente no cache.
+	 */
+	public int quantEmCache() {
+		return quantJanela + quantProva + quantProtegidos;
+	}
+
+	@Override
+	public String toString() {
+		return percorrer();
+	}
+
+	@Override
+	public String percorrer() {
+		return origem.percorrer();
+	}
+
+	@Override
+	public int tamanho() {
+		return origem.tamanho();
+	}
+
+	@Override
+	public long getComparacoes() {
+		return comparacoes;
+	}
+
+	@Override
+	public double getTempo() {
+		return (termino - inicio) / 1_000_000;
+	}
+}
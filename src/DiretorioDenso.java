@@ -0,0 +1,255 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Mapeamento de chaves inteiras otimizado para faixas contíguas de chaves, como identificadores sequenciais.
+ * As chaves de uma faixa densa são guardadas em um vetor indexado diretamente pela chave, com pesquisa em O(1).
+ * O vetor só cresce se, depois de crescer, tiver no máximo o dobro de posições da quantidade de chaves que guarda
+ * (mais uma folga de {@value #CAPACIDADE_MINIMA} posições); remoções posteriores podem deixá-lo menos ocupado.
+ * As chaves que ficam longe dessa faixa são guardadas em uma árvore AVL auxiliar. Quando a faixa densa cresce,
+ * as chaves da árvore que passam a pertencer a ela são migradas para o vetor.
+ * Os métodos {@link #inserirInt}, {@link #pesquisarInt} e {@link #removerInt} recebem a chave como int,
+ * sem objetos Integer; os métodos de {@link IMapeamento} apenas os repassam.
+ */
+public class DiretorioDenso<V> implements IMapeamento<Integer, V> {
+
+	private static final int CAPACIDADE_MINIMA = 16;
+
+	private Object[] densos;      // densos[i] guarda o item da chave (base + i), ou null.
+	private int base;             // menor chave representável no vetor.
+	private int quantDensos;      // quantidade de itens armazenados no vetor.
+	private final AVL<Integer, Entrada<Integer, V>> esparsos;
+	private int tamanho;
+	private long comparacoes;
+	private long inicio;
+	private long termino;
+
+	/**
+	 * Construtor da classe.
+	 * Esse construtor cria um diretório vazio.
+	 */
+	public DiretorioDenso() {
+		densos = new Object[0];
+		base = 0;
+		quantDensos = 0;
+		esparsos = new AVL<>();
+		tamanho = 0;
+	}
+
+	private boolean naFaixaDensa(int chave) {
+		return (chave >= base && (long) chave - base < densos.length);
+	}
+
+	/**
+	 * Insere um item associado à chave informada.
+	 * A chave é guardada no vetor se pertencer à faixa densa ou se a faixa puder crescer até ela
+	 * com ao menos metade das posições ocupadas; caso contrário, é guardada na árvore auxiliar.
+	 * @param chave a chave associada ao item.
+	 * @param item o item que será inserido (não pode ser null).
+	 * @return o tamanho atualizado do diretório.
+	 * @throws IllegalArgumentException se o item for null ou se a chave já estiver presente no diretório.
+	 */
+	@Override
+	public int inserir(Integer chave, V item) {
+		return inserirInt(chave, item);
+	}
+
+	/** Versão de {@link #inserir(Integer, Object)} que recebe a chave como int. */
+	public int inserirInt(int chave, V item) {
+
+		if (item == null)
+			throw new IllegalArgumentException("O diretório não armazena itens nulos.");
+
+		if (quantDensos == 0 && densos.length == 0) {
+			densos = new Object[CAPACIDADE_MINIMA];
+			base = chave;
+		} else if (!naFaixaDensa(chave) && podeExpandir(chave)) {
+			expandir(chave);
+		}
+
+		if (naFaixaDensa(chave)) {
+			if (densos[chave - base] != null)
+				throw new IllegalArgumentException("O item já foi inserido anteriormente no diretório.");
+			densos[chave - base] = item;
+			quantDensos++;
+		} else {
+			esparsos.inserir(chave, new Entrada<>(chave, item));
+		}
+		return ++tamanho;
+	}
+
+	/**
+	 * A faixa pode crescer até a chave se, depois de crescer, ao menos metade das posições estiver ocupada,
+	 * com a folga de {@value #CAPACIDADE_MINIMA} posições. Conta-se a capacidade que {@link #expandir} de fato
+	 * alocaria, e não apenas a distância até a chave, já que a capacidade dobra a cada passo.
+	 */
+	private boolean podeExpandir(int chave) {
+		return (capacidadeAte(chave) <= 2L * (quantDensos + 1) + CAPACIDADE_MINIMA);
+	}
+
+	/** @return a capacidade do vetor depois de crescer até a chave, dobrando no sentido do crescimento. */
+	private long capacidadeAte(int chave) {
+
+		long capacidade = densos.length;
+
+		while ((long) chave < (long) base + densos.length - capacidade)
+			capacidade *= 2;
+		while ((long) chave - base >= capacidade)
+			capacidade *= 2;
+		return capacidade;
+	}
+
+	/**
+	 * Faz a faixa densa crescer até incluir a chave, dobrando a capacidade no sentido do crescimento,
+	 * e migra para o vetor as chaves da árvore auxiliar que passam a pertencer à faixa.
+	 */
+	private void expandir(int chave) {
+
+		int novaCapacidade = (int) capacidadeAte(chave);
+		int novaBase = (chave < base) ? (int) Math.max(Integer.MIN_VALUE, (long) base + densos.length - novaCapacidade) : base;
+		Object[] novos;
+
+		novos = new Object[novaCapacidade];
+		System.arraycopy(densos, 0, novos, base - novaBase, densos.length);
+		densos = novos;
+		base = novaBase;
+
+		if (!esparsos.vazia()) {
+			long fim = (long) base + densos.length - 1;
+			for (Entrada<Integer, V> entrada : esparsos.pesquisarIntervalo(base, (int) Math.min(fim, Integer.MAX_VALUE))) {
+				esparsos.remover(entrada.getChave());
+				densos[entrada.getChave() - base] = entrada.getValor();
+				quantDensos++;
+			}
+		}
+	}
+
+	/**
+	 * Pesquisa o item associado à chave informada.
+	 * @param chave a chave do item que será pesquisado.
+	 * @return o item associado à chave.
+	 * @throws NoSuchElementException caso a chave não esteja presente no diretório.
+	 */
+	@Override
+	public V pesquisar(Integer chave) {
+		return pesquisarInt(chave);
+	}
+
+	/** Versão de {@link #pesquisar(Integer)} que recebe a chave como int. */
+	@SuppressWarnings("unchecked")
+	public V pesquisarInt(int chave) {
+
+		V procurado;
+
+		comparacoes = 1;
+		inicio = System.nanoTime();
+		if (naFaixaDensa(chave)) {
+			procurado = (V) densos[chave - base];
+			termino = System.nanoTime();
+			if (procurado == null)
+				throw new NoSuchElementException("O item não foi localizado no diretório!");
+			return procurado;
+		}
+		try {
+			procurado = esparsos.pesquisar(chave).getValor();
+		} finally {
+			comparacoes += esparsos.getComparacoes();
+			termino = System.nanoTime();
+		}
+		return procurado;
+	}
+
+	/**
+	 * Remove o item associado à chave informada.
+	 * @param chave a chave do item que será removido.
+	 * @return o item removido.
+	 * @throws NoSuchElementException caso a chave não esteja presente no diretório.
+	 */
+	@Override
+	public V remover(Integer chave) {
+		return removerInt(chave);
+	}
+
+	/** Versão de {@link #remover(Integer)} que recebe a chave como int. */
+	@SuppressWarnings("unchecked")
+	public V removerInt(int chave) {
+
+		V removido;
+
+		if (naFaixaDensa(chave)) {
+			removido = (V) densos[chave - base];
+			if (removido == null)
+				throw new NoSuchElementException("O item a ser removido não foi localizado no diretório!");
+			densos[chave - base] = null;
+			quantDensos--;
+		} else {
+			removido = esparsos.remover(chave).getValor();
+		}
+		tamanho--;
+		return removido;
+	}
+
+	@Override
+	public String toString() {
+		return percorrer();
+	}
+
+	/**
+	 * Percorre os itens em ordem crescente de chave: primeiro as chaves esparsas menores do que a faixa densa,
+	 * depois a faixa densa e, por fim, as chaves esparsas maiores do que ela.
+	 */
+	@Override
+	public String percorrer() {
+
+		StringBuilder resposta = new StringBuilder();
+
+		if (tamanho == 0)
+			throw new IllegalStateException("O diretório está vazio!");
+
+		if (base > Integer.MIN_VALUE)
+			for (Entrada<Integer, V> entrada : esparsos.pesquisarIntervalo(Integer.MIN_VALUE, base - 1))
+				resposta.append(entrada.getValor()).append("\n");
+		for (Object item : densos)
+			if (item != null)
+				resposta.append(item).append("\n");
+		if ((long) base + densos.length <= Integer.MAX_VALUE)
+			for (Entrada<Integer, V> entrada : esparsos.pesquisarIntervalo(base + densos.length, Integer.MAX_VALUE))
+				resposta.append(entrada.getValor()).append("\n");
+		return resposta.toString();
+	}
+
+	/**
+	 * Fluxo paralelo dos itens, sem ordem definida: o vetor da faixa densa é dividido em trechos de posições,
+	 * e a árvore auxiliar, por sub-árvores. O diretório não deve ser alterado enquanto o fluxo estiver em uso.
+	 * @return um fluxo paralelo dos itens do diretório, para agregações sobre todo o conteúdo.
+	 */
+	@SuppressWarnings("unchecked")
+	public Stream<V> fluxoParalelo() {
+		Stream<V> faixaDensa = Arrays.stream(densos).parallel().filter(Objects::nonNull).map(item -> (V) item);
+		return Stream.concat(faixaDensa, esparsos.fluxoParalelo().map(Entrada::getValor)).unordered();
+	}
+
+	/**
+	 * @return a fração das posições da faixa densa efetivamente ocupadas (entre 0 e 1).
+	 */
+	public double ocupacaoDensa() {
+		return (densos.length == 0) ? 0.0 : (double) quantDensos / densos.length;
+	}
+
+	@Override
+	public int tamanho() {
+		return tamanho;
+	}
+
+	@Override
+	public long getComparacoes() {
+		return comparacoes;
+	}
+
+	@Override
+	public double getTempo() {
+		return (termino - inicio) / 1_000_000;
+	}
+}
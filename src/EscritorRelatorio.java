@@ -0,0 +1,81 @@
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Escritor de relatórios em arquivo texto (UTF-8).
+ * Os itens do relatório são escritos um a um, diretamente em um buffer de saída, sem montar o relatório
+ * inteiro em memória: o custo é linear na quantidade de itens e o uso de memória não depende dela.
+ */
+public class EscritorRelatorio implements Closeable {
+
+	/**
+	 * Escreve a representação de um item diretamente no destino informado.
+	 */
+	@FunctionalInterface
+	public interface Formatador<E> {
+		void escrever(E item, Appendable destino) throws IOException;
+	}
+
+	private static final int TAMANHO_BUFFER = 64 * 1024;
+
+	private final BufferedWriter saida;
+	private int itensEscritos;
+
+	/**
+	 * Construtor da classe. Cria (ou sobrescreve) o arquivo do relatório.
+	 * @param nomeArquivo nome do arquivo do relatório.
+	 * @throws IOException caso o arquivo não possa ser criado.
+	 */
+	public EscritorRelatorio(String nomeArquivo) throws IOException {
+		/// Um único buffer: Files.newBufferedWriter já traria o seu, e cada caractere seria copiado duas vezes.
+		saida = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(Path.of(nomeArquivo)), StandardCharsets.UTF_8),
+				TAMANHO_BUFFER);
+		itensEscritos = 0;
+	}
+
+	/**
+	 * Escreve o cabeçalho padrão dos relatórios: título, linhas de identificação e separador.
+	 */
+	public void cabecalho(String titulo, String... linhas) throws IOException {
+		escreverLinha(titulo);
+		for (String linha : linhas)
+			saida.write(linha);
+		escreverLinha("========================================");
+	}
+
+	public void escrever(String texto) throws IOException {
+		saida.write(texto);
+	}
+
+	public void escreverLinha(String linha) throws IOException {
+		saida.write(linha);
+		saida.write('\n');
+	}
+
+	/**
+	 * Escreve todos os itens, cada um seguido de uma quebra de linha, usando o formatador informado.
+	 * @param itens itens a serem escritos.
+	 * @param formatador função que escreve cada item diretamente no arquivo.
+	 */
+	public <E> void escreverTodos(Iterable<E> itens, Formatador<E> formatador) throws IOException {
+		for (E item : itens) {
+			formatador.escrever(item, saida);
+			saida.write('\n');
+			itensEscritos++;
+		}
+	}
+
+	public int getItensEscritos() {
+		return itensEscritos;
+	}
+
+	@Override
+	public void close() throws IOException {
+		saida.close();
+	}
+}
@@ -0,0 +1,123 @@
+/**
+ * Filtro de Bloom em blocos, para descartar rapidamente pesquisas por chaves ausentes.
+ * O filtro responde "talvez presente" ou "certamente ausente": não há falsos negativos, mas uma fração
+ * das chaves ausentes é indicada como possivelmente presente (falsos positivos).
+ * Cada chave ocupa bits de um único bloco de 512 bits (uma linha de cache), de modo que cada consulta
+ * acessa uma só região da memória. Chaves não podem ser retiradas do filtro: após uma remoção no mapeamento,
+ * a chave passa a contar como falso positivo.
+ */
+public class FiltroBloom<K> {
+
+	private static final int BITS_POR_BLOCO = 512;
+	private static final int LONGS_POR_BLOCO = BITS_POR_BLOCO / Long.SIZE;
+
+	private final long[] bits;
+	private final int quantBlocos;
+	private final int quantHashes;
+	private int inseridos;
+	private long negativas;          // consultas respondidas como "certamente ausente".
+	private long falsosPositivos;    // consultas respondidas como "talvez presente" para chaves ausentes.
+
+	/**
+	 * Construtor da classe.
+	 * @param quantEsperada quantidade de chaves para a qual o filtro é dimensionado.
+	 * @param taxaFalsosPositivos taxa de falsos positivos desejada com essa quantidade de chaves, entre 0 e 1.
+	 * @throws IllegalArgumentException caso a quantidade não seja positiva ou a taxa não esteja entre 0 e 1.
+	 */
+	public FiltroBloom(int quantEsperada, double taxaFalsosPositivos) {
+
+		double quantBits;
+
+		if (quantEsperada < 1)
+			throw new IllegalArgumentException("A quantidade esperada de chaves deve ser positiva.");
+		if (taxaFalsosPositivos <= 0.0 || taxaFalsosPositivos >= 1.0)
+			throw new IllegalArgumentException("A taxa de falsos positivos deve estar entre 0 e 1.");
+
+		quantBits = -quantEsperada * Math.log(taxaFalsosPositivos) / (Math.log(2) * Math.log(2));
+		quantBlocos = (int) Math.max(1, Math.ceil(quantBits / BITS_POR_BLOCO));
+		quantHashes = (int) Math.max(1, Math.min(16, Math.round(quantBits / quantEsperada * Math.log(2))));
+		bits = new long[quantBlocos * LONGS_POR_BLOCO];
+	}
+
+	/** Espalha o hashCode em 64 bits (finalizador do SplitMix64). */
+	private static long misturar(int hashCode) {
+		long h = hashCode * 0x9E3779B97F4A7C15L;
+		h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+		h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+		return h ^ (h >>> 31);
+	}
+
+	/**
+	 * Adiciona a chave ao filtro.
+	 */
+	public void adicionar(K chave) {
+
+		long h = misturar(chave.hashCode());
+		int inicioBloco = (int) ((h >>> 32) % quantBlocos) * LONGS_POR_BLOCO;
+		int h1 = (int) h, h2 = (int) (h >>> 16) | 1;
+
+		for (int i = 0; i < quantHashes; i++) {
+			int posicao = (h1 + i * h2) & (BITS_POR_BLOCO - 1);
+			bits[inicioBloco + (posicao >>> 6)] |= 1L << posicao;
+		}
+		inseridos++;
+	}
+
+	/**
+	 * @return false se a chave certamente não foi adicionada ao filtro; true se talvez tenha sido.
+	 */
+	public boolean talvezContenha(K chave) {
+
+		long h = misturar(chave.hashCode());
+		int inicioBloco = (int) ((h >>> 32) % quantBlocos) * LONGS_POR_BLOCO;
+		int h1 = (int) h, h2 = (int) (h >>> 16) | 1;
+
+		for (int i = 0; i < quantHashes; i++) {
+			int posicao = (h1 + i * h2) & (BITS_POR_BLOCO - 1);
+			if ((bits[inicioBloco + (posicao >>> 6)] & (1L << posicao)) == 0) {
+				negativas++;
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Registra que uma chave indicada como "talvez presente" não estava no mapeamento.
+	 * Chamado pelo mapeamento que usa o filtro, para que a taxa observada possa ser medida.
+	 */
+	public void registrarFalsoPositivo() {
+		falsosPositivos++;
+	}
+
+	/**
+	 * @return a fração das pesquisas por chaves ausentes que o filtro não conseguiu descartar.
+	 */
+	public double getTaxaFalsosPositivos() {
+		long ausentes = negativas + falsosPositivos;
+		return (ausentes == 0) ? 0.0 : (double) falsosPositivos / ausentes;
+	}
+
+	/**
+	 * @return a taxa de falsos positivos prevista para a quantidade de chaves já adicionadas.
+	 */
+	public double getTaxaEstimada() {
+		double bitsTotais = (double) quantBlocos * BITS_POR_BLOCO;
+		return Math.pow(1 - Math.exp(-quantHashes * inseridos / bitsTotais), quantHashes);
+	}
+
+	public long getNegativas() {
+		return negativas;
+	}
+
+	public long getFalsosPositivos() {
+		return falsosPositivos;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Filtro de Bloom: %d chaves, %d KiB, %d funções hash | %d pesquisas descartadas | "
+				+ "falsos positivos %.2f%% (previsto %.2f%%)", inseridos, bits.length / 128, quantHashes,
+				negativas, 100 * getTaxaFalsosPositivos(), 100 * getTaxaEstimada());
+	}
+}
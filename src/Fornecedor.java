@@ -4,7 +4,6 @@ public class Fornecedor {
 
     private String nome;
     private int documento;
-    private Lista<Produto> produtos;
 
     public Fornecedor(String nome) {
         if (nome == null || nome.trim().split("\\s+").length < 2) {
@@ -13,15 +12,6 @@ public class Fornecedor {
 
         this.nome = nome;
         this.documento = ultimoID++; 
-        this.produtos = new Lista<>(); 
-    }
-
-
-    public void adicionarProduto(Produto novo) {
-        if (novo == null) {
-            throw new IllegalArgumentException("Produto inválido."); 
-        }
-        this.produtos.inserirFinal(novo);
     }
 
 
@@ -38,21 +28,23 @@ public class Fornecedor {
         return this.documento == outro.documento;
     }
 
+    /**
+     * Os produtos fornecidos não fazem parte do fornecedor: a relação produto-fornecedor
+     * é mantida uma única vez, fora das duas classes (ver {@link RelacaoCSR}).
+     */
     @Override
     public String toString() { 
         StringBuilder sb = new StringBuilder();
         sb.append("Fornecedor: ").append(nome)
           .append(" | Documento: ").append(documento).append("\n");
-        sb.append("Produtos fornecidos:\n");
-        if(produtos.vazia()){
-            sb.append(" - Nenhum produto registrado.\n");
-        } else {
-            sb.append(produtos.toString());
-        }
         return sb.toString();
     }
     
     public int getDocumento() {
         return documento;
     }
+
+    public String getNome() {
+        return nome;
+    }
 }
\ No newline at end of file
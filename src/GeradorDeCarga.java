@@ -0,0 +1,153 @@
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Gerador de cargas de trabalho sintéticas e reprodutíveis (sorteio com semente fixa, como em {@code App.gerarPedidos}).
+ * Cada operação é uma pesquisa, inserção, remoção ou relatório, sorteada de acordo com os pesos informados,
+ * sobre uma chave sorteada com distribuição de Zipf: poucas chaves concentram a maior parte dos acessos.
+ * As chaves mais populares são espalhadas pela faixa de chaves por uma permutação também sorteada.
+ * Cada inserção devolve à estrutura a chave removida há mais tempo pela própria carga, de modo que
+ * remoções e inserções mantêm o conjunto de chaves aproximadamente estável.
+ */
+public class GeradorDeCarga {
+
+	public enum TipoOperacao { PESQUISA, INSERCAO, REMOCAO, RELATORIO }
+
+	/** Uma operação da carga de trabalho: o tipo e a chave sobre a qual ela atua. */
+	public static class Operacao {
+		private final TipoOperacao tipo;
+		private final int chave;
+
+		public Operacao(TipoOperacao tipo, int chave) {
+			this.tipo = tipo;
+			this.chave = chave;
+		}
+
+		public TipoOperacao getTipo() {
+			return tipo;
+		}
+
+		public int getChave() {
+			return chave;
+		}
+
+		@Override
+		public String toString() {
+			return tipo + " " + chave;
+		}
+	}
+
+	private final Random sorteio;
+	private final int[] chavePorPosto;     // chave associada a cada posto (1º mais popular, 2º, ...).
+	private final double[] acumulada;      // distribuição acumulada de Zipf sobre os postos.
+	private final int[] pesos;             // pesos de pesquisa, inserção, remoção e relatório.
+	private final int somaPesos;
+	private final int primeiraChave;
+	private final boolean[] removida;      // indica as chaves removidas pela carga e ainda não reinseridas.
+	private final int[] filaRemovidas;     // fila circular das chaves removidas, da mais antiga à mais recente.
+	private int inicioFila, quantRemovidas;
+
+	/**
+	 * Construtor da classe.
+	 * @param semente semente do sorteio, para que a mesma carga possa ser reproduzida.
+	 * @param primeiraChave menor chave da faixa de chaves.
+	 * @param quantChaves quantidade de chaves da faixa.
+	 * @param expoenteZipf assimetria da distribuição (0 = uniforme; cerca de 1 = muito concentrada).
+	 * @param pesoPesquisa peso relativo das pesquisas.
+	 * @param pesoInsercao peso relativo das inserções.
+	 * @param pesoRemocao peso relativo das remoções.
+	 * @param pesoRelatorio peso relativo dos relatórios.
+	 * @throws IllegalArgumentException caso a faixa de chaves seja vazia ou todos os pesos sejam nulos.
+	 */
+	public GeradorDeCarga(long semente, int primeiraChave, int quantChaves, double expoenteZipf,
+			int pesoPesquisa, int pesoInsercao, int pesoRemocao, int pesoRelatorio) {
+
+		double soma = 0.0;
+
+		if (quantChaves < 1)
+			throw new IllegalArgumentException("A faixa de chaves não pode ser vazia.");
+		pesos = new int[] { pesoPesquisa, pesoInsercao, pesoRemocao, pesoRelatorio };
+		somaPesos = pesoPesquisa + pesoInsercao + pesoRemocao + pesoRelatorio;
+		if (somaPesos < 1 || Arrays.stream(pesos).anyMatch(peso -> peso < 0))
+			throw new IllegalArgumentException("Os pesos das operações devem ser não negativos e não todos nulos.");
+
+		sorteio = new Random(semente);
+		this.primeiraChave = primeiraChave;
+		removida = new boolean[quantChaves];
+		filaRemovidas = new int[quantChaves];
+		inicioFila = quantRemovidas = 0;
+
+		chavePorPosto = new int[quantChaves];
+		for (int i = 0; i < quantChaves; i++)
+			chavePorPosto[i] = primeiraChave + i;
+		for (int i = quantChaves - 1; i > 0; i--) {
+			int j = sorteio.nextInt(i + 1);
+			int aux = chavePorPosto[i];
+			chavePorPosto[i] = chavePorPosto[j];
+			chavePorPosto[j] = aux;
+		}
+
+		acumulada = new double[quantChaves];
+		for (int posto = 0; posto < quantChaves; posto++) {
+			soma += 1.0 / Math.pow(posto + 1, expoenteZipf);
+			acumulada[posto] = soma;
+		}
+		for (int posto = 0; posto < quantChaves; posto++)
+			acumulada[posto] /= soma;
+	}
+
+	/**
+	 * Sorteia uma chave de acordo com a distribuição de Zipf.
+	 */
+	public int sortearChave() {
+
+		int posto = Arrays.binarySearch(acumulada, sorteio.nextDouble());
+
+		if (posto < 0)
+			posto = -(posto + 1);
+		return chavePorPosto[Math.min(posto, chavePorPosto.length - 1)];
+	}
+
+	private TipoOperacao sortearTipo() {
+
+		int valor = sorteio.nextInt(somaPesos);
+
+		for (int i = 0; i < pesos.length; i++) {
+			if (valor < pesos[i])
+				return TipoOperacao.values()[i];
+			valor -= pesos[i];
+		}
+		return TipoOperacao.PESQUISA;
+	}
+
+	/**
+	 * Gera a próxima sequência de operações da carga.
+	 * @param quantidade quantidade de operações.
+	 * @return vetor com as operações, na ordem em que devem ser executadas.
+	 */
+	public Operacao[] gerar(int quantidade) {
+
+		Operacao[] operacoes = new Operacao[quantidade];
+
+		for (int i = 0; i < quantidade; i++) {
+			TipoOperacao tipo = sortearTipo();
+			int chave;
+
+			if (tipo == TipoOperacao.INSERCAO && quantRemovidas > 0) {
+				chave = filaRemovidas[inicioFila];
+				inicioFila = (inicioFila + 1) % filaRemovidas.length;
+				quantRemovidas--;
+				removida[chave - primeiraChave] = false;
+			} else {
+				chave = sortearChave();
+				if (tipo == TipoOperacao.REMOCAO && !removida[chave - primeiraChave]) {
+					removida[chave - primeiraChave] = true;
+					filaRemovidas[(inicioFila + quantRemovidas) % filaRemovidas.length] = chave;
+					quantRemovidas++;
+				}
+			}
+			operacoes[i] = new Operacao(tipo, chave);
+		}
+		return operacoes;
+	}
+}
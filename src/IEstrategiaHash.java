@@ -0,0 +1,50 @@
+/**
+ * Estratégia de transformação de uma tabela hash: converte o hashCode de uma chave em uma posição da tabela.
+ * O hashCode de vários itens do sistema é o próprio identificador (idProduto, documento), de modo que padrões
+ * nas chaves, como ids múltiplos de um valor, podem se repetir nas posições quando o hashCode é usado diretamente.
+ */
+@FunctionalInterface
+public interface IEstrategiaHash {
+
+	/**
+	 * @param hashCode hashCode da chave.
+	 * @param capacidade quantidade de posições da tabela.
+	 * @return uma posição entre 0 e capacidade - 1.
+	 */
+	public int posicao(int hashCode, int capacidade);
+
+	/** Resto da divisão do hashCode pela capacidade: a transformação original da {@link TabelaHash}. */
+	public static final IEstrategiaHash RESTO_DIVISAO = (hashCode, capacidade) -> Math.abs(hashCode % capacidade);
+
+	/**
+	 * Aplica ao hashCode o finalizador do MurmurHash3, que espalha cada bit da entrada por todos os bits da saída,
+	 * antes do resto da divisão.
+	 */
+	public static final IEstrategiaHash MISTURA = (hashCode, capacidade) -> Math.floorMod(misturar(hashCode), capacidade);
+
+	/**
+	 * Hash multiplicativo de Fibonacci: multiplica o hashCode por 2^32 / φ e usa os bits mais altos do produto,
+	 * que dependem de todos os bits da chave. Com capacidade potência de 2, equivale a deslocar o produto
+	 * para a direita; com outras capacidades, a faixa é reduzida por multiplicação, sem divisão.
+	 */
+	public static final IEstrategiaHash FIBONACCI = (hashCode, capacidade) ->
+			(int) (((hashCode * 0x9E3779B9) & 0xFFFFFFFFL) * capacidade >>> 32);
+
+	/**
+	 * Mistura com semente: tabelas com sementes diferentes distribuem as mesmas chaves de formas independentes,
+	 * o que impede que um conjunto de chaves escolhido para colidir em uma tabela colida em todas.
+	 * @param semente semente da função.
+	 */
+	public static IEstrategiaHash comSemente(int semente) {
+		return (hashCode, capacidade) -> Math.floorMod(misturar(hashCode ^ misturar(semente)), capacidade);
+	}
+
+	/** Finalizador de 32 bits do MurmurHash3. */
+	private static int misturar(int h) {
+		h ^= h >>> 16;
+		h *= 0x85EBCA6B;
+		h ^= h >>> 13;
+		h *= 0xC2B2AE35;
+		return h ^ (h >>> 16);
+	}
+}
@@ -0,0 +1,253 @@
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Índice invertido de palavras para identificadores inteiros (por exemplo, a descrição e o id dos produtos).
+ * Cada palavra, normalizada para minúsculas e sem acentos, aponta para uma lista de postagens: um vetor
+ * ordenado de identificadores. Consultas com todas as palavras (E) usam interseção por galope, que salta
+ * pelos vetores maiores em vez de percorrê-los inteiramente; consultas com qualquer palavra (OU) usam intercalação.
+ */
+public class IndiceInvertido implements IMedicao {
+
+	private static final int[] VAZIO = new int[0];
+
+	/** Lista de postagens de uma palavra: identificadores em ordem crescente, sem repetição. */
+	private static class Postagens {
+		private int[] ids = new int[4];
+		private int tamanho = 0;
+
+		private void adicionar(int id) {
+			if (tamanho > 0 && ids[tamanho - 1] >= id) {
+				/// Identificador repetido ou fora de ordem: insere mantendo o vetor ordenado e sem repetições.
+				int posicao = Arrays.binarySearch(ids, 0, tamanho, id);
+				if (posicao >= 0)
+					return;
+				posicao = -(posicao + 1);
+				garantirCapacidade();
+				System.arraycopy(ids, posicao, ids, posicao + 1, tamanho - posicao);
+				ids[posicao] = id;
+			} else {
+				garantirCapacidade();
+				ids[tamanho] = id;
+			}
+			tamanho++;
+		}
+
+		private void garantirCapacidade() {
+			if (tamanho == ids.length)
+				ids = Arrays.copyOf(ids, 2 * ids.length);
+		}
+
+		private int[] comoVetor() {
+			return Arrays.copyOf(ids, tamanho);
+		}
+	}
+
+	private final TabelaHash<String, Postagens> postagens;
+	private int quantPalavras;
+	private long comparacoes;
+	private long inicio;
+	private long termino;
+
+	/**
+	 * Construtor da classe.
+	 * @param capacidade capacidade da tabela hash de palavras (aproximadamente o tamanho do vocabulário).
+	 */
+	public IndiceInvertido(int capacidade) {
+		postagens = new TabelaHash<>(capacidade);
+		quantPalavras = 0;
+	}
+
+	/**
+	 * Divide um texto em palavras normalizadas: minúsculas, sem acentos e sem pontuação.
+	 * @param texto texto a ser dividido.
+	 * @return vetor com as palavras do texto, na ordem em que aparecem, sem palavras vazias.
+	 */
+	static String[] palavras(String texto) {
+
+		/// A pontuação do início é retirada antes da divisão, que geraria uma palavra vazia antes dela.
+		String normalizado = Normalizer.normalize(texto, Normalizer.Form.NFD)
+				.replaceAll("\\p{M}", "")
+				.toLowerCase()
+				.replaceFirst("^[^a-z0-9]+", "");
+
+		if (normalizado.isEmpty())
+			return new String[0];
+		return normalizado.split("[^a-z0-9]+");
+	}
+
+	/**
+	 * Indexa todas as palavras do texto para o identificador informado.
+	 * @param id identificador associado ao texto.
+	 * @param texto texto cujas palavras serão indexadas.
+	 */
+	public void indexar(int id, String texto) {
+
+		Postagens lista;
+
+		for (String palavra : palavras(texto)) {
+			try {
+				lista = postagens.pesquisar(palavra);
+			} catch (NoSuchElementException excecao) {
+				lista = new Postagens();
+				postagens.inserir(palavra, lista);
+				quantPalavras++;
+			}
+			lista.adicionar(id);
+		}
+	}
+
+	/**
+	 * Retorna os identificadores associados a uma única palavra.
+	 * @param palavra palavra procurada.
+	 * @return vetor ordenado de identificadores. O vetor pode estar vazio.
+	 */
+	public int[] pesquisarPalavra(String palavra) {
+
+		String[] normalizadas = palavras(palavra);
+
+		if (normalizadas.length != 1)
+			return VAZIO;
+		try {
+			return postagens.pesquisar(normalizadas[0]).comoVetor();
+		} catch (NoSuchElementException excecao) {
+			return VAZIO;
+		}
+	}
+
+	/**
+	 * Consulta E: retorna os identificadores cujo texto contém todas as palavras da consulta.
+	 * As listas são intersectadas da menor para a maior, por galope.
+	 * @param consulta palavras separadas por espaços.
+	 * @return vetor ordenado de identificadores. O vetor pode estar vazio.
+	 */
+	public int[] pesquisarTodas(String consulta) {
+
+		String[] termos = palavras(consulta);
+		Postagens[] listas = new Postagens[termos.length];
+		int[] resultado;
+		int resultadoTamanho;
+
+		comparacoes = 0;
+		inicio = System.nanoTime();
+
+		if (termos.length == 0) {
+			termino = System.nanoTime();
+			return VAZIO;
+		}
+
+		for (int i = 0; i < termos.length; i++) {
+			try {
+				listas[i] = postagens.pesquisar(termos[i]);
+			} catch (NoSuchElementException excecao) {
+				/// Uma palavra inexistente torna a interseção vazia.
+				termino = System.nanoTime();
+				return VAZIO;
+			}
+		}
+		Arrays.sort(listas, (a, b) -> Integer.compare(a.tamanho, b.tamanho));
+
+		resultado = listas[0].comoVetor();
+		resultadoTamanho = resultado.length;
+		for (int i = 1; i < listas.length && resultadoTamanho > 0; i++)
+			resultadoTamanho = intersectar(resultado, resultadoTamanho, listas[i].ids, listas[i].tamanho);
+
+		termino = System.nanoTime();
+		return Arrays.copyOf(resultado, resultadoTamanho);
+	}
+
+	/**
+	 * Consulta OU: retorna os identificadores cujo texto contém ao menos uma das palavras da consulta.
+	 * @param consulta palavras separadas por espaços.
+	 * @return vetor ordenado de identificadores, sem repetições. O vetor pode estar vazio.
+	 */
+	public int[] pesquisarQualquer(String consulta) {
+
+		int[] resultado = VAZIO;
+
+		comparacoes = 0;
+		inicio = System.nanoTime();
+		for (String termo : palavras(consulta)) {
+			try {
+				Postagens lista = postagens.pesquisar(termo);
+				resultado = unir(resultado, lista.ids, lista.tamanho);
+			} catch (NoSuchElementException excecao) {
+				/// Palavras inexistentes não contribuem para a união.
+			}
+		}
+		termino = System.nanoTime();
+		return resultado;
+	}
+
+	/**
+	 * Intersecta, no próprio vetor "menor", os identificadores presentes também em "maior".
+	 * Para cada identificador de "menor", avança em "maior" com saltos de tamanho crescente (1, 2, 4, ...)
+	 * e, ao ultrapassá-lo, conclui com uma pesquisa binária no último salto.
+	 * @return a quantidade de identificadores que permanecem em "menor".
+	 */
+	private int intersectar(int[] menor, int tamanhoMenor, int[] maior, int tamanhoMaior) {
+
+		int posicaoMaior = 0;
+		int quantos = 0;
+		int salto, limite, encontrado;
+
+		for (int i = 0; i < tamanhoMenor && posicaoMaior < tamanhoMaior; i++) {
+			int procurado = menor[i];
+
+			salto = 1;
+			while (posicaoMaior + salto < tamanhoMaior && maior[posicaoMaior + salto] < procurado) {
+				comparacoes++;
+				salto *= 2;
+			}
+			limite = Math.min(posicaoMaior + salto + 1, tamanhoMaior);
+			encontrado = Arrays.binarySearch(maior, posicaoMaior, limite, procurado);
+			comparacoes++;
+
+			if (encontrado >= 0) {
+				menor[quantos++] = procurado;
+				posicaoMaior = encontrado + 1;
+			} else {
+				posicaoMaior = -(encontrado + 1);
+			}
+		}
+		return quantos;
+	}
+
+	private int[] unir(int[] a, int[] b, int tamanhoB) {
+
+		int[] uniao = new int[a.length + tamanhoB];
+		int i = 0, j = 0, k = 0;
+
+		while (i < a.length && j < tamanhoB) {
+			comparacoes++;
+			if (a[i] < b[j])
+				uniao[k++] = a[i++];
+			else if (a[i] > b[j])
+				uniao[k++] = b[j++];
+			else {
+				uniao[k++] = a[i++];
+				j++;
+			}
+		}
+		while (i < a.length)
+			uniao[k++] = a[i++];
+		while (j < tamanhoB)
+			uniao[k++] = b[j++];
+		return Arrays.copyOf(uniao, k);
+	}
+
+	public int quantPalavras() {
+		return quantPalavras;
+	}
+
+	@Override
+	public long getComparacoes() {
+		return comparacoes;
+	}
+
+	@Override
+	public double getTempo() {
+		return (termino - inicio) / 1_000_000;
+	}
+}
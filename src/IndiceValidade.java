@@ -0,0 +1,176 @@
+import java.io.Closeable;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Índice dos produtos perecíveis por data de validade, com a varredura diária que atualiza os seus preços.
+ * Os produtos ficam em uma árvore AVL cuja chave é a data de validade, com uma lista de produtos por data.
+ * A cada novo dia, a varredura consulta só as faixas de datas que mudaram de situação desde a anterior:
+ * os produtos que entraram no prazo de desconto ({@value ProdutoPerecivel#PRAZO_DESCONTO} dias antes da validade)
+ * passam a ter desconto, e os que venceram são marcados como expirados e saem do índice.
+ * O custo de uma varredura é proporcional à quantidade de produtos que mudam de preço, e não ao tamanho do catálogo.
+ */
+public class IndiceValidade implements Closeable {
+
+	/** Resumo de uma varredura: quantos produtos entraram no prazo de desconto e quantos venceram. */
+	public static class Resumo {
+		private int comDesconto;
+		private int expirados;
+
+		public int getComDesconto() {
+			return comDesconto;
+		}
+
+		public int getExpirados() {
+			return expirados;
+		}
+
+		/**
+		 * @return true se nenhum produto mudou de situação na varredura.
+		 */
+		public boolean vazio() {
+			return comDesconto + expirados == 0;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("Validade: %d produtos entraram no prazo de desconto | %d produtos vencidos retirados de venda",
+					comDesconto, expirados);
+		}
+	}
+
+	private final AVL<LocalDate, Lista<ProdutoPerecivel>> porValidade;
+	private final PrintStream log;
+	private LocalDate ultimaVarredura;
+	private int tamanho;
+	private ScheduledExecutorService agendador;
+
+	/**
+	 * Construtor da classe.
+	 * @param hoje a data da varredura inicial: a situação dos produtos registrados é definida para essa data.
+	 * @param log destino dos resumos das varreduras em segundo plano.
+	 */
+	public IndiceValidade(LocalDate hoje, PrintStream log) {
+		porValidade = new AVL<>();
+		ultimaVarredura = hoje;
+		this.log = log;
+	}
+
+	/**
+	 * Registra o produto no índice, com a situação do preço definida para a data da última varredura.
+	 * Um produto já vencido nessa data é marcado como expirado e não é registrado.
+	 */
+	public synchronized void registrar(ProdutoPerecivel produto) {
+
+		Lista<ProdutoPerecivel> produtosDaData;
+
+		produto.atualizarSituacao(ultimaVarredura);
+		if (produto.estaExpirado())
+			return;
+		try {
+			produtosDaData = porValidade.pesquisar(produto.getDataDeValidade());
+		} catch (NoSuchElementException excecao) {
+			produtosDaData = new Lista<>();
+			porValidade.inserir(produto.getDataDeValidade(), produtosDaData);
+		}
+		produtosDaData.inserirFinal(produto);
+		tamanho++;
+	}
+
+	/**
+	 * Atualiza os preços dos produtos que mudaram de situação entre a última varredura e a data informada.
+	 * Uma data igual ou anterior à da última varredura não altera nada, de modo que a varredura pode ser
+	 * chamada com frequência: só a primeira chamada de cada dia tem trabalho a fazer.
+	 * @return o resumo das mudanças.
+	 */
+	public synchronized Resumo varrer(LocalDate hoje) {
+
+		Resumo resumo = new Resumo();
+
+		if (!hoje.isAfter(ultimaVarredura))
+			return resumo;
+
+		/// Entram no prazo de desconto as validades que estavam além do prazo na última varredura e não estão mais.
+		for (Lista<ProdutoPerecivel> produtosDaData : porValidade.pesquisarIntervalo(
+				ultimaVarredura.plusDays(ProdutoPerecivel.PRAZO_DESCONTO + 1), hoje.plusDays(ProdutoPerecivel.PRAZO_DESCONTO))) {
+			for (ProdutoPerecivel produto : produtosDaData) {
+				produto.atualizarSituacao(hoje);
+				if (produto.estaComDesconto())
+					resumo.comDesconto++;
+			}
+		}
+		/// As varreduras anteriores já retiraram as validades passadas: as que restam antes de hoje venceram agora.
+		for (Lista<ProdutoPerecivel> produtosDaData : porValidade.pesquisarIntervalo(LocalDate.MIN, hoje.minusDays(1))) {
+			for (ProdutoPerecivel produto : produtosDaData) {
+				produto.atualizarSituacao(hoje);
+				resumo.expirados++;
+			}
+			porValidade.remover(produtosDaData.iterator().next().getDataDeValidade());
+			tamanho -= produtosDaData.tamanho();
+		}
+		ultimaVarredura = hoje;
+		return resumo;
+	}
+
+	/**
+	 * Localiza os produtos que vencem entre as duas datas informadas (inclusive).
+	 * @return uma lista com os produtos de cada data do intervalo que possui produtos, em ordem de validade.
+	 */
+	public synchronized Lista<Lista<ProdutoPerecivel>> vencendoEntre(LocalDate inicio, LocalDate fim) {
+		return porValidade.pesquisarIntervalo(inicio, fim);
+	}
+
+	/**
+	 * @return a quantidade de produtos registrados que ainda não venceram.
+	 */
+	public synchronized int tamanho() {
+		return tamanho;
+	}
+
+	/**
+	 * Passa a varrer o índice uma vez por dia, logo após a meia-noite, em uma thread de segundo plano,
+	 * sob a trava de escrita dos índices ({@link App#travaIndices}). O resumo de cada varredura que mudou
+	 * algum preço é escrito no log.
+	 */
+	public synchronized void iniciar() {
+
+		long atePrimeira;
+
+		if (agendador != null)
+			return;
+		agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+			Thread thread = new Thread(tarefa, "varredura-validade");
+			thread.setDaemon(true);
+			return thread;
+		});
+		atePrimeira = Duration.between(LocalDateTime.now(), LocalDate.now().plusDays(1).atStartOfDay().plusMinutes(1)).toMillis();
+		agendador.scheduleAtFixedRate(() -> {
+			Resumo resumo;
+			App.travaIndices.writeLock().lock();
+			try {
+				resumo = varrer(LocalDate.now());
+			} finally {
+				App.travaIndices.writeLock().unlock();
+			}
+			if (!resumo.vazio())
+				log.println(resumo);
+		}, atePrimeira, TimeUnit.DAYS.toMillis(1), TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Encerra as varreduras periódicas.
+	 */
+	@Override
+	public synchronized void close() {
+		if (agendador != null) {
+			agendador.shutdownNow();
+			agendador = null;
+		}
+	}
+}
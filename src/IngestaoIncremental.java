@@ -0,0 +1,298 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ingestão incremental de produtos, fornecedores e pedidos, sem reiniciar o sistema nem recarregar os arquivos de dados.
+ * Os arquivos ".txt" de um diretório de entrada são acompanhados: a cada verificação, as linhas acrescentadas desde
+ * a verificação anterior, inclusive as de arquivos novos, são lidas e aplicadas aos índices de {@link App}.
+ * Apenas linhas completas são lidas; uma linha ainda em escrita fica para a próxima verificação.
+ * Cada linha é um registro, cujo primeiro campo indica o tipo:
+ * <pre>
+ * PRODUTO;tipo;descrição;preçoDeCusto;margemDeLucro;[dataDeValidade]
+ * FORNECEDOR;nome;[idProduto;...]
+ * PEDIDO;data;formaDePagamento;idProduto;[idProduto;...]
+ * </pre>
+ * Os arquivos são verificados em ordem alfabética de nome, de modo que um pedido pode referir-se a produtos
+ * incluídos antes, no mesmo arquivo ou em um arquivo de nome anterior. Ids de produtos inexistentes são ignorados.
+ * As linhas novas de um arquivo são interpretadas sem bloquear as consultas e aplicadas em lotes de até
+ * {@value #TAMANHO_LOTE} registros, cada lote sob a trava de escrita dos índices ({@link App#travaIndices}):
+ * as consultas nunca veem um lote pela metade e esperam, no máximo, a aplicação de um lote.
+ * A quantidade de bytes já lida de cada arquivo é mantida apenas em memória: ao reiniciar o sistema, os arquivos
+ * de entrada já aplicados devem ser retirados do diretório, ou seus registros serão lidos novamente.
+ */
+public class IngestaoIncremental implements Closeable {
+
+	private static final int TAMANHO_LOTE = 1000;
+
+	/** Registro já interpretado, à espera de ser aplicado aos índices. */
+	@FunctionalInterface
+	private interface Registro {
+		void aplicar(Resumo resumo);
+	}
+
+	/** Posição de leitura de um arquivo acompanhado. */
+	private static class Acompanhamento {
+		private long bytesLidos;
+		private int linhasLidas;
+	}
+
+	/** Resumo de uma verificação: quantos registros de cada tipo foram aplicados e quantos foram rejeitados. */
+	public static class Resumo {
+		private int produtos;
+		private int fornecedores;
+		private int pedidos;
+		private int rejeitados;
+
+		public int getProdutos() {
+			return produtos;
+		}
+
+		public int getFornecedores() {
+			return fornecedores;
+		}
+
+		public int getPedidos() {
+			return pedidos;
+		}
+
+		public int getRejeitados() {
+			return rejeitados;
+		}
+
+		/**
+		 * @return true se nenhum registro foi lido na verificação.
+		 */
+		public boolean vazio() {
+			return produtos + fornecedores + pedidos + rejeitados == 0;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("Ingestão: %d produtos, %d fornecedores e %d pedidos incluídos | %d registros rejeitados",
+					produtos, fornecedores, pedidos, rejeitados);
+		}
+	}
+
+	private final Path diretorio;
+	private final PrintStream log;
+	private final TabelaHash<String, Acompanhamento> acompanhados;
+	private ScheduledExecutorService agendador;
+
+	/**
+	 * Construtor da classe. O diretório de entrada não precisa existir: enquanto não existir, nada é lido.
+	 * @param diretorio diretório de entrada cujos arquivos ".txt" serão acompanhados.
+	 * @param log destino das mensagens de registros rejeitados e dos resumos das verificações em segundo plano.
+	 */
+	public IngestaoIncremental(String diretorio, PrintStream log) {
+		this.diretorio = Path.of(diretorio);
+		this.log = log;
+		acompanhados = new TabelaHash<>(64);
+	}
+
+	/**
+	 * Lê as linhas acrescentadas aos arquivos do diretório de entrada desde a verificação anterior
+	 * e as aplica aos índices.
+	 * @return o resumo dos registros lidos nesta verificação.
+	 */
+	public synchronized Resumo verificar() {
+
+		Resumo resumo = new Resumo();
+		Lista<Path> arquivos = new Lista<>();
+
+		if (!Files.isDirectory(diretorio))
+			return resumo;
+		try (DirectoryStream<Path> conteudo = Files.newDirectoryStream(diretorio, "*.txt")) {
+			for (Path arquivo : conteudo)
+				arquivos.inserirFinal(arquivo);
+		} catch (IOException excecao) {
+			log.println("Erro ao listar o diretório de entrada: " + excecao.getMessage());
+			return resumo;
+		}
+
+		Path[] emOrdem = new Path[arquivos.tamanho()];
+		int i = 0;
+		for (Path arquivo : arquivos)
+			emOrdem[i++] = arquivo;
+		Arrays.sort(emOrdem);
+		for (Path arquivo : emOrdem) {
+			try {
+				processar(arquivo, resumo);
+			} catch (IOException excecao) {
+				log.println("Erro ao ler " + arquivo.getFileName() + ": " + excecao.getMessage());
+			}
+		}
+		return resumo;
+	}
+
+	/**
+	 * Passa a verificar o diretório de entrada periodicamente, em uma thread de segundo plano.
+	 * O resumo de cada verificação que leu algum registro é escrito no log.
+	 * @param intervaloSegundos intervalo entre o fim de uma verificação e o início da próxima.
+	 */
+	public synchronized void iniciar(long intervaloSegundos) {
+
+		if (agendador != null)
+			return;
+		agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+			Thread thread = new Thread(tarefa, "ingestao-incremental");
+			thread.setDaemon(true);
+			return thread;
+		});
+		agendador.scheduleWithFixedDelay(() -> {
+			Resumo resumo = verificar();
+			if (!resumo.vazio())
+				log.println(resumo);
+		}, 0, intervaloSegundos, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Encerra as verificações periódicas.
+	 */
+	@Override
+	public synchronized void close() {
+		if (agendador != null) {
+			agendador.shutdownNow();
+			agendador = null;
+		}
+	}
+
+	private void processar(Path arquivo, Resumo resumo) throws IOException {
+
+		String nome = arquivo.getFileName().toString();
+		Acompanhamento acompanhamento;
+		LeitorMapeado leitor;
+		Lista<Registro> lote = new Lista<>();
+		long tamanho = Files.size(arquivo);
+
+		try {
+			acompanhamento = acompanhados.pesquisar(nome);
+		} catch (NoSuchElementException excecao) {
+			acompanhamento = new Acompanhamento();
+			acompanhados.inserir(nome, acompanhamento);
+		}
+		if (tamanho < acompanhamento.bytesLidos) {
+			log.println("O arquivo " + nome + " foi reescrito: será lido novamente desde o início.");
+			acompanhamento.bytesLidos = 0;
+			acompanhamento.linhasLidas = 0;
+		}
+		if (tamanho == acompanhamento.bytesLidos)
+			return;
+
+		leitor = new LeitorMapeado(arquivo.toString(), acompanhamento.bytesLidos);
+		while (!leitor.fimDoArquivo()) {
+			int linha = acompanhamento.linhasLidas + leitor.getLinhasLidas() + 1;
+			try {
+				Registro registro = interpretar(leitor);
+				if (registro != null)
+					lote.inserirFinal(registro);
+			} catch (IllegalArgumentException | DateTimeException excecao) {
+				resumo.rejeitados++;
+				log.println(nome + ", linha " + linha + ": " + excecao.getMessage());
+			}
+			leitor.proximaLinha();
+			if (lote.tamanho() == TAMANHO_LOTE) {
+				aplicar(lote, resumo);
+				lote = new Lista<>();
+			}
+		}
+		aplicar(lote, resumo);
+		acompanhamento.bytesLidos = leitor.getDeslocamentoFinal();
+		acompanhamento.linhasLidas += leitor.getLinhasLidas();
+	}
+
+	/**
+	 * Interpreta uma linha. Produtos e fornecedores são criados já na leitura; os ids de produtos citados
+	 * só são resolvidos na aplicação, pois podem ser de produtos do mesmo lote.
+	 * @return o registro a ser aplicado, ou null para uma linha em branco.
+	 * @throws IllegalArgumentException caso a linha seja inválida.
+	 * @throws DateTimeException caso uma data seja inválida.
+	 */
+	private Registro interpretar(LeitorMapeado leitor) {
+
+		String tipo = leitor.lerTexto();
+
+		if (tipo.isBlank() && leitor.fimDaLinha())
+			return null;
+
+		switch (tipo) {
+			case "PRODUTO" -> {
+				Produto produto = Produto.criarDoLeitor(leitor);
+				return resumo -> {
+					App.incluirProduto(produto);
+					resumo.produtos++;
+				};
+			}
+			case "FORNECEDOR" -> {
+				Fornecedor fornecedor = new Fornecedor(leitor.lerTexto());
+				int[] idsProdutos = lerIds(leitor);
+				return resumo -> {
+					App.incluirFornecedor(fornecedor, idsProdutos);
+					resumo.fornecedores++;
+				};
+			}
+			case "PEDIDO" -> {
+				LocalDate data = leitor.lerData();
+				int formaDePagamento = leitor.lerInteiro();
+				int[] idsProdutos = lerIds(leitor);
+				if (formaDePagamento != 1 && formaDePagamento != 2)
+					throw new IllegalArgumentException("Forma de pagamento inválida: " + formaDePagamento);
+				if (idsProdutos.length == 0)
+					throw new IllegalArgumentException("Pedido sem produtos.");
+				return resumo -> {
+					App.incluirPedido(data, formaDePagamento, idsProdutos);
+					resumo.pedidos++;
+				};
+			}
+			default -> throw new IllegalArgumentException("Tipo de registro desconhecido: " + tipo);
+		}
+	}
+
+	/** Lê os ids restantes da linha. */
+	private int[] lerIds(LeitorMapeado leitor) {
+
+		int[] ids = new int[8];
+		int quantos = 0;
+
+		while (!leitor.fimDaLinha()) {
+			if (quantos == ids.length)
+				ids = Arrays.copyOf(ids, 2 * quantos);
+			ids[quantos++] = leitor.lerInteiro();
+		}
+		return Arrays.copyOf(ids, quantos);
+	}
+
+	/**
+	 * Aplica um lote de registros aos índices, sob a trava de escrita.
+	 * Um registro recusado pelos índices, como um produto com descrição repetida, é descartado sem afetar os demais.
+	 */
+	private void aplicar(Lista<Registro> lote, Resumo resumo) {
+
+		if (lote.vazia())
+			return;
+		App.travaIndices.writeLock().lock();
+		try {
+			for (Registro registro : lote) {
+				try {
+					registro.aplicar(resumo);
+				} catch (IllegalArgumentException excecao) {
+					resumo.rejeitados++;
+					log.println("Registro rejeitado: " + excecao.getMessage());
+				}
+			}
+			App.produtoFornecedor.compactar();
+		} finally {
+			App.travaIndices.writeLock().unlock();
+		}
+	}
+}
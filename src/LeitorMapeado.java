@@ -0,0 +1,309 @@
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+
+/**
+ * Leitor de arquivos texto (UTF-8) de dados, mapeado em memória.
+ * O arquivo é lido diretamente dos bytes mapeados, campo a campo: números inteiros, decimais e datas
+ * no formato dd/MM/yyyy são convertidos sem criar strings intermediárias, e apenas os campos de texto
+ * se tornam objetos String. Os campos de uma linha são separados por ';'; as linhas, por '\n' ou "\r\n".
+ * Cada método de leitura consome o campo e o seu separador; depois do último campo de uma linha, as leituras falham
+ * até que {@link #proximaLinha()} seja chamado, de modo que uma linha com campos faltando nunca avança sobre a seguinte.
+ * O leitor também pode acompanhar um arquivo que recebe linhas ao final: nesse caso, apenas o trecho acrescentado
+ * desde a última leitura é mapeado (ver {@link #LeitorMapeado(String, long)}).
+ */
+public class LeitorMapeado {
+
+	private static final byte SEPARADOR = ';';
+	private static final byte FIM_DE_LINHA = '\n';
+	private static final byte RETORNO = '\r';
+	/** Maior quantidade de algarismos que um long representa sem transbordar, e um double sem arredondamento. */
+	private static final int ALGARISMOS_EXATOS = 15;
+	private static final double[] POTENCIAS_DE_DEZ = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9,
+			1e10, 1e11, 1e12, 1e13, 1e14, 1e15 };
+
+	private final MappedByteBuffer dados;
+	private final long deslocamento;  // posição, no arquivo, do primeiro byte mapeado.
+	private final int limite;
+	private int posicao;
+	private byte[] texto;             // reaproveitado na decodificação dos campos de texto.
+	private int linhasLidas;
+	private boolean fimDaLinha;       // o último campo lido terminou a linha.
+
+	/**
+	 * Construtor da classe. Mapeia o arquivo inteiro, somente para leitura.
+	 * @param nomeArquivo nome do arquivo de dados.
+	 * @throws IOException caso o arquivo não possa ser aberto ou seja grande demais para ser mapeado de uma vez.
+	 */
+	public LeitorMapeado(String nomeArquivo) throws IOException {
+		this(nomeArquivo, 0, false);
+	}
+
+	/**
+	 * Construtor para acompanhar um arquivo que recebe linhas ao final. Mapeia o arquivo a partir do deslocamento
+	 * informado e considera apenas as linhas completas, terminadas por '\n': uma linha ainda em escrita fica para
+	 * a próxima leitura, que deve começar em {@link #getDeslocamentoFinal()}.
+	 * Trechos maiores do que 2 GiB são lidos em partes, em leituras sucessivas.
+	 * @param nomeArquivo nome do arquivo de dados.
+	 * @param deslocamento quantidade de bytes do início do arquivo que já foram lidos.
+	 * @throws IOException caso o arquivo não possa ser aberto ou seja menor do que o deslocamento.
+	 */
+	public LeitorMapeado(String nomeArquivo, long deslocamento) throws IOException {
+		this(nomeArquivo, deslocamento, true);
+	}
+
+	private LeitorMapeado(String nomeArquivo, long deslocamento, boolean somenteLinhasCompletas) throws IOException {
+
+		int fim;
+
+		try (FileChannel canal = FileChannel.open(Path.of(nomeArquivo), StandardOpenOption.READ)) {
+			long tamanhoTrecho = canal.size() - deslocamento;
+			if (tamanhoTrecho < 0)
+				throw new IOException("O arquivo é menor do que o trecho já lido: " + nomeArquivo);
+			if (tamanhoTrecho > Integer.MAX_VALUE && !somenteLinhasCompletas)
+				throw new IOException("Arquivo grande demais para ser mapeado: " + nomeArquivo);
+			/// O mapeamento continua válido depois que o canal é fechado.
+			dados = canal.map(FileChannel.MapMode.READ_ONLY, deslocamento, Math.min(tamanhoTrecho, Integer.MAX_VALUE));
+		}
+		this.deslocamento = deslocamento;
+		fim = dados.limit();
+		if (somenteLinhasCompletas)
+			while (fim > 0 && dados.get(fim - 1) != FIM_DE_LINHA)
+				fim--;
+		limite = fim;
+		texto = new byte[256];
+		/// Marca de ordem de bytes do UTF-8, se houver.
+		if (deslocamento == 0 && limite >= 3
+				&& dados.get(0) == (byte) 0xEF && dados.get(1) == (byte) 0xBB && dados.get(2) == (byte) 0xBF)
+			posicao = 3;
+	}
+
+	/**
+	 * @return true se todos os bytes do arquivo já foram lidos.
+	 */
+	public boolean fimDoArquivo() {
+		return posicao >= limite;
+	}
+
+	/**
+	 * @return a quantidade de linhas completamente lidas até agora.
+	 */
+	public int getLinhasLidas() {
+		return linhasLidas;
+	}
+
+	/**
+	 * @return a posição, no arquivo, logo após o último byte que este leitor considera: o deslocamento
+	 * a partir do qual a próxima leitura de um arquivo acompanhado deve começar.
+	 */
+	public long getDeslocamentoFinal() {
+		return deslocamento + limite;
+	}
+
+	/**
+	 * @return true se o último campo lido terminou a linha: a linha atual não tem mais campos.
+	 */
+	public boolean fimDaLinha() {
+		return fimDaLinha;
+	}
+
+	/**
+	 * Consome o separador que termina o campo atual, se houver: ';', '\n' ou "\r\n".
+	 */
+	private void consumirSeparador() {
+
+		fimDaLinha = true;
+		if (posicao >= limite)
+			return;
+		byte b = dados.get(posicao);
+		if (b == RETORNO && posicao + 1 < limite && dados.get(posicao + 1) == FIM_DE_LINHA)
+			posicao++;
+		if (b == SEPARADOR) {
+			posicao++;
+			fimDaLinha = false;
+		} else if (b == FIM_DE_LINHA || b == RETORNO) {
+			posicao++;
+			linhasLidas++;
+		}
+	}
+
+	private boolean fimDoCampo(byte b, boolean aceitaSeparador) {
+		return b == FIM_DE_LINHA || b == RETORNO || (aceitaSeparador && b == SEPARADOR);
+	}
+
+	/**
+	 * Avança para o início da próxima linha, descartando os campos restantes da linha atual, se houver.
+	 * Também é usado para pular uma linha com erro, a partir do ponto em que a leitura dela falhou.
+	 */
+	public void proximaLinha() {
+
+		if (!fimDaLinha) {
+			while (posicao < limite && !fimDoCampo(dados.get(posicao), false))
+				posicao++;
+			consumirSeparador();
+		}
+		fimDaLinha = false;
+	}
+
+	/**
+	 * @throws IllegalArgumentException caso a linha atual não tenha mais campos.
+	 */
+	private void exigirCampo() {
+		if (fimDaLinha)
+			throw new IllegalArgumentException("Campo ausente: a linha terminou antes do esperado.");
+	}
+
+	/**
+	 * Lê um campo de texto, até o próximo ';' ou o fim da linha.
+	 */
+	public String lerTexto() {
+		return decodificar(true);
+	}
+
+	/**
+	 * Lê o restante da linha atual como texto, inclusive eventuais ';'.
+	 */
+	public String lerLinha() {
+		return decodificar(false);
+	}
+
+	private String decodificar(boolean aceitaSeparador) {
+
+		int inicioCampo = posicao, tamanhoCampo;
+
+		exigirCampo();
+		while (posicao < limite && !fimDoCampo(dados.get(posicao), aceitaSeparador))
+			posicao++;
+		tamanhoCampo = posicao - inicioCampo;
+		if (tamanhoCampo > texto.length)
+			texto = new byte[Math.max(tamanhoCampo, 2 * texto.length)];
+		dados.get(inicioCampo, texto, 0, tamanhoCampo);
+		consumirSeparador();
+		return new String(texto, 0, tamanhoCampo, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Lê um campo com um número inteiro, com sinal opcional.
+	 * @throws NumberFormatException caso o campo não seja um número inteiro válido.
+	 */
+	public int lerInteiro() {
+
+		int inicioCampo = posicao, algarismos = 0;
+		boolean negativo = false;
+		long valor = 0;
+		byte b;
+
+		exigirCampo();
+		if (posicao < limite && (dados.get(posicao) == '-' || dados.get(posicao) == '+'))
+			negativo = dados.get(posicao++) == '-';
+		while (posicao < limite && !fimDoCampo(b = dados.get(posicao), true)) {
+			if (b < '0' || b > '9' || valor > Integer.MAX_VALUE)
+				throw campoInvalido("inteiro", inicioCampo);
+			valor = valor * 10 + (b - '0');
+			algarismos++;
+			posicao++;
+		}
+		/// Um campo só com o sinal não tem algarismos e não é um número.
+		if (algarismos == 0 || (negativo ? -valor < Integer.MIN_VALUE : valor > Integer.MAX_VALUE))
+			throw campoInvalido("inteiro", inicioCampo);
+		consumirSeparador();
+		return (int) (negativo ? -valor : valor);
+	}
+
+	/**
+	 * Lê um campo com um número decimal, aceitando '.' ou ',' como separador decimal.
+	 * Valores com até {@value #ALGARISMOS_EXATOS} algarismos são convertidos por uma única divisão exata, com o mesmo
+	 * resultado de {@link Double#parseDouble(String)}; os demais, como notação científica, são repassados a ela.
+	 * @throws NumberFormatException caso o campo não seja um número válido.
+	 */
+	public double lerDecimal() {
+
+		int inicioCampo = posicao, algarismos = 0, casasDecimais = -1;
+		boolean negativo = false;
+		long mantissa = 0;
+		byte b;
+
+		exigirCampo();
+		if (posicao < limite && (dados.get(posicao) == '-' || dados.get(posicao) == '+'))
+			negativo = dados.get(posicao++) == '-';
+		while (posicao < limite && !fimDoCampo(b = dados.get(posicao), true)) {
+			if (b >= '0' && b <= '9') {
+				mantissa = mantissa * 10 + (b - '0');
+				algarismos++;
+				if (casasDecimais >= 0)
+					casasDecimais++;
+			} else if ((b == '.' || b == ',') && casasDecimais < 0) {
+				casasDecimais = 0;
+			} else {
+				return decimalPorTexto(inicioCampo);
+			}
+			if (algarismos > ALGARISMOS_EXATOS)
+				return decimalPorTexto(inicioCampo);
+			posicao++;
+		}
+		if (algarismos == 0)
+			throw campoInvalido("decimal", inicioCampo);
+		consumirSeparador();
+		double valor = (casasDecimais > 0) ? mantissa / POTENCIAS_DE_DEZ[casasDecimais] : mantissa;
+		return negativo ? -valor : valor;
+	}
+
+	/** Caminho lento para decimais fora do formato simples: converte o campo inteiro com {@link Double#parseDouble}. */
+	private double decimalPorTexto(int inicioCampo) {
+		posicao = inicioCampo;
+		return Double.parseDouble(lerTexto().replace(",", "."));
+	}
+
+	/**
+	 * Lê um campo com uma data no formato dd/MM/yyyy.
+	 * @throws NumberFormatException caso o campo não esteja no formato esperado.
+	 * @throws java.time.DateTimeException caso os valores não formem uma data válida.
+	 */
+	public LocalDate lerData() {
+
+		int inicioCampo = posicao, dia, mes, ano;
+
+		exigirCampo();
+		if (limite - posicao < 10 || dados.get(posicao + 2) != '/' || dados.get(posicao + 5) != '/'
+				|| (posicao + 10 < limite && !fimDoCampo(dados.get(posicao + 10), true)))
+			throw campoInvalido("data", inicioCampo);
+		dia = algarismos(posicao, 2);
+		mes = algarismos(posicao + 3, 2);
+		ano = algarismos(posicao + 6, 4);
+		if (dia < 0 || mes < 0 || ano < 0)
+			throw campoInvalido("data", inicioCampo);
+		posicao += 10;
+		consumirSeparador();
+		return LocalDate.of(ano, mes, dia);
+	}
+
+	/** @return o valor dos algarismos a partir da posição, ou -1 se algum byte não for um algarismo. */
+	private int algarismos(int inicio, int quantidade) {
+
+		int valor = 0;
+
+		for (int i = inicio; i < inicio + quantidade; i++) {
+			byte b = dados.get(i);
+			if (b < '0' || b > '9')
+				return -1;
+			valor = valor * 10 + (b - '0');
+		}
+		return valor;
+	}
+
+	private NumberFormatException campoInvalido(String tipo, int inicioCampo) {
+
+		int fimCampo = inicioCampo;
+
+		while (fimCampo < limite && !fimDoCampo(dados.get(fimCampo), true))
+			fimCampo++;
+		byte[] campo = new byte[fimCampo - inicioCampo];
+		dados.get(inicioCampo, campo);
+		return new NumberFormatException("Campo " + tipo + " inválido: \""
+				+ new String(campo, StandardCharsets.UTF_8) + "\"");
+	}
+}
@@ -1,8 +1,13 @@
+import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-public class Lista<E> implements IMedicao {
+public class Lista<E> implements IMedicao, Iterable<E> {
 
 	private Celula<E> primeiro;
 	private Celula<E> ultimo;
@@ -140,19 +145,19 @@ public class Lista<E> implements IMedicao {
 	public String toString() {
 		
 		Celula<E> aux;
-		String listaString = "A lista está vazia!\n";
+		StringBuilder listaString;
 		
-		if (!vazia()) {
-			listaString = "";
+		if (vazia())
+			return "A lista está vazia!\n";
 		
-			aux = this.primeiro.getProximo();
+		listaString = new StringBuilder();
+		aux = this.primeiro.getProximo();
 		
-			while (aux != null) {
-				listaString += aux.getItem() + "\n";
-				aux = aux.getProximo();
-			}
+		while (aux != null) {
+			listaString.append(aux.getItem()).append('\n');
+			aux = aux.getProximo();
 		}
-		return listaString;
+		return listaString.toString();
 	}
 	
 	/**
@@ -200,6 +205,54 @@ public class Lista<E> implements IMedicao {
 		return tamanho;
 	}
 
+	/**
+	 * Retorna um iterador que percorre os itens da lista, do primeiro ao último.
+	 * @return iterador sobre os itens da lista.
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		
+		return new Iterator<E>() {
+			
+			private Celula<E> atual = primeiro.getProximo();
+			
+			@Override
+			public boolean hasNext() {
+				return (atual != null);
+			}
+			
+			@Override
+			public E next() {
+				
+				E item;
+				
+				if (atual == null)
+					throw new NoSuchElementException("Não há mais itens na lista!");
+				
+				item = atual.getItem();
+				atual = atual.getProximo();
+				return item;
+			}
+		};
+	}
+
+	/**
+	 * Divisor (Spliterator) dos itens da lista, com o tamanho conhecido. Uma lista encadeada não pode ser
+	 * dividida ao meio sem ser percorrida: cada divisão copia o próximo bloco de itens para um vetor, com blocos
+	 * cada vez maiores, e o vetor é dividido sem custo entre as threads.
+	 */
+	@Override
+	public Spliterator<E> spliterator() {
+		return Spliterators.spliterator(iterator(), tamanho, Spliterator.ORDERED);
+	}
+
+	/**
+	 * @return um fluxo paralelo dos itens da lista, para agregações sobre listas grandes.
+	 */
+	public Stream<E> fluxoParalelo() {
+		return StreamSupport.stream(spliterator(), true);
+	}
+
 	@Override
 	public long getComparacoes() {
 		return comparacoes;
@@ -0,0 +1,318 @@
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+
+/**
+ * Lista de saltos (skip list) ordenada e livre de bloqueios, para acesso concorrente.
+ * Cada nó participa de um número sorteado de níveis; os níveis superiores funcionam como atalhos,
+ * e uma pesquisa custa O(log n) comparações em média, sem rotações.
+ * Inserções e remoções usam apenas operações atômicas de comparação-e-troca nas referências entre nós;
+ * uma remoção primeiro marca as referências do nó (remoção lógica) e depois o desliga da lista (remoção física),
+ * o que pode ser concluído por qualquer thread que encontre o nó marcado. Pesquisas nunca esperam por outras threads.
+ * Os contadores de {@link IMedicao} referem-se à última operação de pesquisa executada, por qualquer thread.
+ */
+public class ListaDeSaltos<K, V> implements IMapeamento<K, V> {
+
+	private static final int NIVEL_MAXIMO = 31;
+
+	private static class NoSalto<K, V> {
+		private final K chave;
+		private final V item;
+		private final AtomicMarkableReference<NoSalto<K, V>>[] proximos;
+		private final int nivelTopo;
+
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		private NoSalto(K chave, V item, int nivelTopo) {
+			this.chave = chave;
+			this.item = item;
+			this.nivelTopo = nivelTopo;
+			proximos = (AtomicMarkableReference<NoSalto<K, V>>[]) new AtomicMarkableReference[nivelTopo + 1];
+			for (int i = 0; i <= nivelTopo; i++)
+				proximos[i] = new AtomicMarkableReference<>(null, false);
+		}
+	}
+
+	private final NoSalto<K, V> cabeca;  // sentinela menor do que qualquer chave.
+	private final NoSalto<K, V> cauda;   // sentinela maior do que qualquer chave.
+	private final Comparator<K> comparador;
+	private final AtomicInteger tamanho;
+	private final AtomicInteger nivelOcupado;  // nível mais alto já alcançado por algum nó; nunca diminui.
+	private long comparacoes;
+	private long inicio;
+	private long termino;
+
+	/**
+	 * Construtor da classe.
+	 * O comparador padrão de ordem natural será utilizado.
+	 */
+	@SuppressWarnings("unchecked")
+	public ListaDeSaltos() {
+		this((Comparator<K>) Comparator.naturalOrder());
+	}
+
+	/**
+	 * Construtor da classe.
+	 * Esse construtor cria uma nova lista de saltos vazia.
+	 * @param comparador o comparador a ser utilizado para organizar os elementos da lista.
+	 */
+	public ListaDeSaltos(Comparator<K> comparador) {
+		this.comparador = comparador;
+		cabeca = new NoSalto<>(null, null, NIVEL_MAXIMO);
+		cauda = new NoSalto<>(null, null, NIVEL_MAXIMO);
+		for (int i = 0; i <= NIVEL_MAXIMO; i++)
+			cabeca.proximos[i].set(cauda, false);
+		tamanho = new AtomicInteger(0);
+		nivelOcupado = new AtomicInteger(0);
+	}
+
+	private int comparar(NoSalto<K, V> no, K chave) {
+		if (no == cabeca)
+			return -1;
+		if (no == cauda)
+			return 1;
+		return comparador.compare(no.chave, chave);
+	}
+
+	/** Sorteia o nível mais alto de um novo nó: o nível i é alcançado com probabilidade 1/2^i. */
+	private int sortearNivel() {
+		return Integer.numberOfTrailingZeros(ThreadLocalRandom.current().nextInt() | (1 << NIVEL_MAXIMO));
+	}
+
+	/**
+	 * Localiza, em cada nível, o último nó com chave menor do que a procurada (antecessores) e o nó seguinte
+	 * (sucessores), desligando da lista os nós marcados como removidos que encontrar no caminho.
+	 * A descida começa no nível mais alto já ocupado: os níveis acima dele ligam apenas as sentinelas.
+	 * @return verdadeiro se o sucessor no nível 0 tem a chave procurada.
+	 */
+	private boolean localizar(K chave, NoSalto<K, V>[] antecessores, NoSalto<K, V>[] sucessores) {
+
+		boolean[] marcado = { false };
+		NoSalto<K, V> anterior, atual = null, seguinte;
+
+		recomecar:
+		while (true) {
+			anterior = cabeca;
+			for (int nivel = nivelOcupado.get(); nivel >= 0; nivel--) {
+				atual = anterior.proximos[nivel].getReference();
+				while (true) {
+					seguinte = atual.proximos[nivel].get(marcado);
+					while (marcado[0]) {
+						/// "atual" foi removido logicamente: tenta desligá-lo deste nível.
+						if (!anterior.proximos[nivel].compareAndSet(atual, seguinte, false, false))
+							continue recomecar;
+						atual = anterior.proximos[nivel].getReference();
+						seguinte = atual.proximos[nivel].get(marcado);
+					}
+					if (comparar(atual, chave) < 0) {
+						anterior = atual;
+						atual = seguinte;
+					} else {
+						break;
+					}
+				}
+				antecessores[nivel] = anterior;
+				sucessores[nivel] = atual;
+			}
+			return (comparar(atual, chave) == 0);
+		}
+	}
+
+	/**
+	 * Insere um item associado à chave informada.
+	 * @return o tamanho atualizado da lista.
+	 * @throws IllegalArgumentException se um item com a mesma chave já estiver presente na lista.
+	 */
+	@Override
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public int inserir(K chave, V item) {
+
+		NoSalto<K, V>[] antecessores = (NoSalto<K, V>[]) new NoSalto[NIVEL_MAXIMO + 1];
+		NoSalto<K, V>[] sucessores = (NoSalto<K, V>[]) new NoSalto[NIVEL_MAXIMO + 1];
+		int nivelTopo = sortearNivel();
+		NoSalto<K, V> novo, anterior, seguinte;
+
+		/// O nível ocupado sobe antes de o nó ser ligado, para que as descidas seguintes passem por todos os seus níveis.
+		nivelOcupado.accumulateAndGet(nivelTopo, Math::max);
+		while (true) {
+			if (localizar(chave, antecessores, sucessores))
+				throw new IllegalArgumentException("O item já foi inserido anteriormente na lista.");
+
+			novo = new NoSalto<>(chave, item, nivelTopo);
+			for (int nivel = 0; nivel <= nivelTopo; nivel++)
+				novo.proximos[nivel].set(sucessores[nivel], false);
+
+			/// O nó passa a fazer parte da lista quando é ligado no nível 0.
+			if (!antecessores[0].proximos[0].compareAndSet(sucessores[0], novo, false, false))
+				continue;
+
+			for (int nivel = 1; nivel <= nivelTopo; nivel++) {
+				while (true) {
+					anterior = antecessores[nivel];
+					seguinte = sucessores[nivel];
+					NoSalto<K, V> proximoAtual = novo.proximos[nivel].getReference();
+					if (novo.proximos[nivel].isMarked())
+						/// O novo nó já está sendo removido por outra thread: não é preciso ligar os demais níveis.
+						return tamanho.incrementAndGet();
+					if (proximoAtual != seguinte && !novo.proximos[nivel].compareAndSet(proximoAtual, seguinte, false, false))
+						continue;
+					if (anterior.proximos[nivel].compareAndSet(seguinte, novo, false, false))
+						break;
+					localizar(chave, antecessores, sucessores);
+				}
+			}
+			return tamanho.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Remove o item associado à chave informada.
+	 * @return o item removido.
+	 * @throws NoSuchElementException caso a chave não esteja presente na lista.
+	 */
+	@Override
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public V remover(K chave) {
+
+		NoSalto<K, V>[] antecessores = (NoSalto<K, V>[]) new NoSalto[NIVEL_MAXIMO + 1];
+		NoSalto<K, V>[] sucessores = (NoSalto<K, V>[]) new NoSalto[NIVEL_MAXIMO + 1];
+		NoSalto<K, V> removido, seguinte;
+		boolean[] marcado = { false };
+
+		if (!localizar(chave, antecessores, sucessores))
+			throw new NoSuchElementException("O item a ser removido não foi localizado na lista!");
+
+		removido = sucessores[0];
+		/// Marca os níveis superiores, de cima para baixo.
+		for (int nivel = removido.nivelTopo; nivel >= 1; nivel--) {
+			seguinte = removido.proximos[nivel].get(marcado);
+			while (!marcado[0]) {
+				removido.proximos[nivel].compareAndSet(seguinte, seguinte, false, true);
+				seguinte = removido.proximos[nivel].get(marcado);
+			}
+		}
+		/// A marcação do nível 0 decide qual thread removeu o item.
+		seguinte = removido.proximos[0].get(marcado);
+		while (true) {
+			if (removido.proximos[0].compareAndSet(seguinte, seguinte, false, true)) {
+				localizar(chave, antecessores, sucessores);
+				tamanho.decrementAndGet();
+				return removido.item;
+			}
+			seguinte = removido.proximos[0].get(marcado);
+			if (marcado[0])
+				throw new NoSuchElementException("O item a ser removido não foi localizado na lista!");
+		}
+	}
+
+	/**
+	 * Desce pelos níveis até o primeiro nó, no nível 0, com chave maior ou igual à informada,
+	 * ignorando os nós marcados como removidos. Não altera a lista.
+	 */
+	private NoSalto<K, V> primeiroMaiorOuIgual(K chave) {
+
+		boolean[] marcado = { false };
+		NoSalto<K, V> anterior = cabeca, atual = null, seguinte;
+
+		for (int nivel = nivelOcupado.get(); nivel >= 0; nivel--) {
+			atual = anterior.proximos[nivel].getReference();
+			while (true) {
+				seguinte = atual.proximos[nivel].get(marcado);
+				while (marcado[0]) {
+					atual = seguinte;
+					seguinte = atual.proximos[nivel].get(marcado);
+				}
+				/// A comparação com a sentinela da cauda não examina chave nenhuma e não é contada.
+				if (atual != cauda)
+					comparacoes++;
+				if (comparar(atual, chave) < 0) {
+					anterior = atual;
+					atual = seguinte;
+				} else {
+					break;
+				}
+			}
+		}
+		return atual;
+	}
+
+	/**
+	 * Pesquisa o item associado à chave informada, sem bloqueios.
+	 * @return o item associado à chave.
+	 * @throws NoSuchElementException caso a chave não esteja presente na lista.
+	 */
+	@Override
+	public V pesquisar(K chave) {
+
+		NoSalto<K, V> encontrado;
+
+		comparacoes = 0;
+		inicio = System.nanoTime();
+		encontrado = primeiroMaiorOuIgual(chave);
+		termino = System.nanoTime();
+
+		if (comparar(encontrado, chave) != 0)
+			throw new NoSuchElementException("O item não foi localizado na lista!");
+		return encontrado.item;
+	}
+
+	/**
+	 * Retorna, em ordem crescente de chave, os itens cujas chaves estão no intervalo informado (limites inclusos).
+	 * O resultado reflete as inserções e remoções concluídas antes da varredura e, possivelmente,
+	 * algumas das que ocorrerem durante ela.
+	 * @return uma lista com os itens encontrados. A lista pode estar vazia.
+	 */
+	public Lista<V> pesquisarIntervalo(K chaveInicial, K chaveFinal) {
+
+		Lista<V> encontrados = new Lista<>();
+		NoSalto<K, V> atual;
+
+		comparacoes = 0;
+		inicio = System.nanoTime();
+		atual = primeiroMaiorOuIgual(chaveInicial);
+		while (atual != cauda && comparador.compare(atual.chave, chaveFinal) <= 0) {
+			if (!atual.proximos[0].isMarked())
+				encontrados.inserirFinal(atual.item);
+			atual = atual.proximos[0].getReference();
+		}
+		termino = System.nanoTime();
+		return encontrados;
+	}
+
+	@Override
+	public String toString() {
+		return percorrer();
+	}
+
+	@Override
+	public String percorrer() {
+
+		StringBuilder resposta = new StringBuilder();
+		NoSalto<K, V> atual = cabeca.proximos[0].getReference();
+
+		if (atual == cauda)
+			throw new IllegalStateException("A lista está vazia!");
+		while (atual != cauda) {
+			if (!atual.proximos[0].isMarked())
+				resposta.append(atual.item).append("\n");
+			atual = atual.proximos[0].getReference();
+		}
+		return resposta.toString();
+	}
+
+	@Override
+	public int tamanho() {
+		return tamanho.get();
+	}
+
+	@Override
+	public long getComparacoes() {
+		return comparacoes;
+	}
+
+	@Override
+	public double getTempo() {
+		return (termino - inicio) / 1_000_000;
+	}
+}
@@ -1,7 +1,12 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.Locale;
 import java.util.function.Predicate;
 
 public class Pedido implements Comparable<Pedido>{
@@ -13,6 +18,15 @@ public class Pedido implements Comparable<Pedido>{
 	/** Porcentagem de desconto para pagamentos à vista */
 	private static final double DESCONTO_PG_A_VISTA = 0.15;
 	
+	/** Formatadores reaproveitados entre pedidos. DecimalFormat não é thread-safe: há uma instância por thread. */
+	private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+	private static final ThreadLocal<DecimalFormat> FORMATO_VALOR = ThreadLocal.withInitial(() -> {
+		DecimalFormat formato = new DecimalFormat("0.00", DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT)));
+		formato.setRoundingMode(RoundingMode.HALF_UP);
+		return formato;
+	});
+	private static final String PERCENTUAL_DESCONTO = String.format("%.2f", DESCONTO_PG_A_VISTA * 100);
+	
 	/** Lista de produtos do pedido */
 	private Lista<Produto> produtos;
 	
@@ -63,9 +77,7 @@ public class Pedido implements Comparable<Pedido>{
 		double valorPedido = produtos.calcularValorTotal((produto -> produto.valorDeVenda()));
 		BigDecimal valorPedidoBD;
 		
-		if (formaDePagamento == 1) {
-			valorPedido = valorPedido * (1.0 - DESCONTO_PG_A_VISTA);
-		}
+		valorPedido = aplicarDesconto(valorPedido);
 		
 		valorPedidoBD = new BigDecimal(Double.toString(valorPedido));
         
@@ -74,6 +86,19 @@ public class Pedido implements Comparable<Pedido>{
         return valorPedidoBD.doubleValue();
 	}
 	
+	/**
+     * Aplica ao valor informado o desconto da forma de pagamento deste pedido, se for à vista.
+     * @param valor Valor sem desconto
+     * @return Valor a ser pago neste pedido (double), sem arredondamento
+     */
+	public double aplicarDesconto(double valor) {
+		
+		if (formaDePagamento == 1) {
+			return valor * (1.0 - DESCONTO_PG_A_VISTA);
+		}
+		return valor;
+	}
+	
 	/**
      * Representação, em String, do pedido.
      * Contém um cabeçalho com seu código identificador, sua data e a quantidade de produtos no pedido.
@@ -97,25 +122,46 @@ public class Pedido implements Comparable<Pedido>{
 		
 		StringBuilder stringPedido = new StringBuilder();
 		
-		stringPedido.append(String.format("Número do pedido: %02d\n", idPedido));
+		try {
+			escreverEm(stringPedido);
+		} catch (IOException excecao) {
+			throw new UncheckedIOException(excecao);
+		}
+		return stringPedido.toString();
+	}
+	
+	/**
+	 * Escreve a representação do pedido (a mesma de {@link #toString()}) diretamente no destino informado,
+	 * sem montar uma String intermediária. Usado pelos relatórios em arquivo.
+	 * @param destino Destino da escrita (um arquivo ou um StringBuilder, por exemplo)
+	 * @throws IOException em caso de erro de escrita no destino
+	 */
+	public void escreverEm(Appendable destino) throws IOException {
 		
-		DateTimeFormatter formatoData = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-		stringPedido.append("Data do pedido: " + formatoData.format(dataPedido) + "\n");
+		destino.append("Número do pedido: ");
+		if (idPedido < 10)
+			destino.append('0');
+		destino.append(Integer.toString(idPedido)).append('\n');
 		
-		stringPedido.append("Pedido com " + quantProdutos + " produtos.\n");
-		stringPedido.append("Produtos no pedido:\n");
-		stringPedido.append(produtos.toString());
+		destino.append("Data do pedido: ").append(FORMATO_DATA.format(dataPedido)).append('\n');
 		
-		stringPedido.append("Pedido pago ");
-		if (formaDePagamento == 1) {
-			stringPedido.append("à vista. Percentual de desconto: " + String.format("%.2f", DESCONTO_PG_A_VISTA * 100) + "%\n");
+		destino.append("Pedido com ").append(Integer.toString(quantProdutos)).append(" produtos.\n");
+		destino.append("Produtos no pedido:\n");
+		if (produtos.vazia()) {
+			destino.append(produtos.toString());
 		} else {
-			stringPedido.append("parcelado.\n");
+			for (Produto produto : produtos)
+				destino.append(produto.toString()).append('\n');
 		}
 		
-		stringPedido.append("Valor total do pedido: R$ " + String.format("%.2f", valorFinal()) + "\n");
+		destino.append("Pedido pago ");
+		if (formaDePagamento == 1) {
+			destino.append("à vista. Percentual de desconto: ").append(PERCENTUAL_DESCONTO).append("%\n");
+		} else {
+			destino.append("parcelado.\n");
+		}
 		
-		return stringPedido.toString();
+		destino.append("Valor total do pedido: R$ ").append(FORMATO_VALOR.get().format(valorFinal())).append('\n');
 	}
 	
     /**
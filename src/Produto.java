@@ -5,6 +5,9 @@ import java.time.format.DateTimeFormatter;
 public abstract class Produto implements Comparable<Produto>{
 	
 	private static final double MARGEM_PADRAO = 0.2;
+	
+	/** Formato de moeda reaproveitado entre chamadas. NumberFormat não é thread-safe: há uma instância por thread. */
+	private static final ThreadLocal<NumberFormat> FORMATO_MOEDA = ThreadLocal.withInitial(NumberFormat::getCurrencyInstance);
 	private static int ultimoID = 10_000;
 	
 	protected int idProduto;
@@ -67,9 +70,7 @@ public abstract class Produto implements Comparable<Produto>{
     @Override
 	public String toString() {
     	
-    	NumberFormat moeda = NumberFormat.getCurrencyInstance();
-    	
-    	return String.format("ID: " + idProduto + " NOME: " + descricao + ": " + moeda.format(valorDeVenda()));
+    	return "ID: " + idProduto + " NOME: " + descricao + ": " + FORMATO_MOEDA.get().format(valorDeVenda());
     }
     
     @Override
@@ -145,6 +146,28 @@ public abstract class Produto implements Comparable<Produto>{
     	
     	return produto;
     }
+    
+    /**
+     * Cria um produto a partir da linha atual de um arquivo mapeado em memória, no mesmo formato de {@link #criarDoTexto(String)}.
+     * Os campos numéricos e a data são convertidos diretamente dos bytes do arquivo; apenas a descrição se torna uma String.
+     * Campos além dos do produto, na mesma linha, não são lidos.
+     * @param leitor Leitor posicionado no campo do tipo do produto.
+     * @return Um produto com os dados lidos
+     */
+    static Produto criarDoLeitor(LeitorMapeado leitor) {
+    	
+    	int tipo = leitor.lerInteiro();
+    	String descricao = leitor.lerTexto();
+    	double precoCusto = leitor.lerDecimal();
+    	double margemLucro = leitor.lerDecimal();
+    	Produto produto;
+    	
+    	if (tipo == 2)
+    		produto = new ProdutoPerecivel(descricao, precoCusto, margemLucro, leitor.lerData());
+    	else
+    		produto = new ProdutoNaoPerecivel(descricao, precoCusto, margemLucro);
+    	return produto;
+    }
     	
     /**
      * Gera uma linha de texto a partir dos dados do produto.
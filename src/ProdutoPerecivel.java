@@ -1,5 +1,6 @@
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 
 public class ProdutoPerecivel extends Produto{
 
@@ -7,10 +8,16 @@ public class ProdutoPerecivel extends Produto{
 	private static final double DESCONTO = 0.25;
 	
 	/** Prazo, em dias, para conceder o desconto por proximidade da validade */
-	private static final int PRAZO_DESCONTO = 7;
+	public static final int PRAZO_DESCONTO = 7;
+	
+	private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 	
 	/** Data de validade do produto. Não pode ser anterior à data da criação ou venda do produto. */
 	private LocalDate dataDeValidade;
+
+	/** Situação do preço, definida na criação e atualizada pela varredura diária do {@link IndiceValidade}. */
+	private volatile boolean comDesconto;
+	private volatile boolean expirado;
 	
 	/**
      * Construtor completo. 
@@ -29,6 +36,7 @@ public class ProdutoPerecivel extends Produto{
 			throw new IllegalArgumentException("Data de validade do produto é anterior ao dia de hoje!");
 		}
 		dataDeValidade = validade;
+		comDesconto = emPrazoDeDesconto(LocalDate.now());
 	}
 	
 	/**
@@ -46,11 +54,14 @@ public class ProdutoPerecivel extends Produto{
 			throw new IllegalArgumentException("Data de validade do produto é anterior ao dia de hoje!");
 		}
 		dataDeValidade = validade;
+		comDesconto = emPrazoDeDesconto(LocalDate.now());
 	}
 
 	/**
      * Retorna o valor de venda do produto, considerando seu preço de custo, margem de lucro e
      * dias de validade. Se o prazo de validade estiver a menos de 7 dias, será concedido desconto de 25%.
+     * A situação do desconto e da validade não é recalculada aqui: ela é definida na criação do produto e
+     * atualizada, uma vez por dia, pela varredura do {@link IndiceValidade}.
      * @return Valor de venda do produto (double, positivo)
      */
 	@Override
@@ -58,19 +69,62 @@ public class ProdutoPerecivel extends Produto{
 		
 		double precoVenda;
 		
-		if (dataDeValidade.isBefore(LocalDate.now())) {
+		if (expirado) {
 			throw new IllegalArgumentException("Data de validade do produto é anterior ao dia de hoje!");
 		}
 		
 		precoVenda = (precoCusto * (1.0 + margemLucro));
 				
-		if (LocalDate.now().until(dataDeValidade).getDays() <= PRAZO_DESCONTO) {
+		if (comDesconto) {
 			precoVenda = precoVenda * (1.0 - DESCONTO);
 		}
 		
 		return precoVenda;
 	}
+
+	public LocalDate getDataDeValidade() {
+		return dataDeValidade;
+	}
+
+	/**
+	 * @return true se o produto está sendo vendido com o desconto por proximidade da validade.
+	 */
+	public boolean estaComDesconto() {
+		return comDesconto;
+	}
+
+	/**
+	 * @return true se a varredura do {@link IndiceValidade} já encontrou o produto vencido.
+	 */
+	public boolean estaExpirado() {
+		return expirado;
+	}
+
+	/** Atualiza a situação do preço para a data informada. Usado pelo {@link IndiceValidade}. */
+	void atualizarSituacao(LocalDate hoje) {
+		expirado = vencido(hoje);
+		comDesconto = !expirado && emPrazoDeDesconto(hoje);
+	}
 	
+	/**
+	 * Indica se a validade está a até {@value #PRAZO_DESCONTO} dias da data informada, período em que
+	 * o produto é vendido com desconto. Os dias são contados corridos, inclusive entre meses diferentes.
+	 * @param hoje a data de referência.
+	 * @return true se o produto vence entre hoje e hoje + {@value #PRAZO_DESCONTO} dias.
+	 */
+	public boolean emPrazoDeDesconto(LocalDate hoje) {
+		long diasRestantes = ChronoUnit.DAYS.between(hoje, dataDeValidade);
+		return diasRestantes >= 0 && diasRestantes <= PRAZO_DESCONTO;
+	}
+
+	/**
+	 * @param hoje a data de referência.
+	 * @return true se a validade é anterior à data informada.
+	 */
+	public boolean vencido(LocalDate hoje) {
+		return dataDeValidade.isBefore(hoje);
+	}
+
 	/**
      * Descrição, em string, do produto, contendo sua descrição, o valor de venda e sua data de validade.
      *  @return String com o formato:
@@ -80,10 +134,8 @@ public class ProdutoPerecivel extends Produto{
     @Override
     public String toString(){
     	
-        DateTimeFormatter formato = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-        
         String dados = super.toString();
-        dados += "\nVálido até " + formato.format(dataDeValidade);
+        dados += "\nVálido até " + FORMATO_DATA.format(dataDeValidade);
         
         return dados;
     }
@@ -98,8 +150,7 @@ public class ProdutoPerecivel extends Produto{
     
 		String precoCustoFormatado = String.format("%.2f", precoCusto).replaceAll(",", ".");
 		String margemLucroFormatada = String.format("%.2f", margemLucro).replaceAll(",", ".");
-		DateTimeFormatter formatoData = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-		String dataFormatada = formatoData.format(dataDeValidade);
+		String dataFormatada = FORMATO_DATA.format(dataDeValidade);
 		
 		return String.format("2;%s;%s;%s;%s", descricao, precoCustoFormatado, margemLucroFormatada, dataFormatada);
 		
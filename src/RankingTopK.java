@@ -0,0 +1,143 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Classificação limitada aos K itens de maior contagem.
+ * Os itens são mantidos em um heap mínimo indexado: a raiz é sempre o item de menor contagem entre os K
+ * classificados, e uma tabela hash guarda a posição de cada item no heap. Assim, cada atualização custa
+ * O(log K), independentemente da quantidade total de itens observados.
+ * As contagens informadas devem ser os totais atuais de cada item e nunca devem diminuir.
+ */
+public class RankingTopK<E> {
+
+	/** Item classificado, com sua contagem e sua posição atual no heap. */
+	private static class Colocacao<E> {
+		private final E item;
+		private int contagem;
+		private int posicao;
+
+		private Colocacao(E item, int contagem, int posicao) {
+			this.item = item;
+			this.contagem = contagem;
+			this.posicao = posicao;
+		}
+	}
+
+	private final Colocacao<E>[] heap;
+	private final TabelaHash<E, Colocacao<E>> posicoes;
+	private final int limite;
+	private int tamanho;
+
+	/**
+	 * Construtor da classe.
+	 * @param limite quantidade máxima de itens mantidos na classificação (K).
+	 * @throws IllegalArgumentException caso o limite seja um número não positivo.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public RankingTopK(int limite) {
+
+		if (limite < 1)
+			throw new IllegalArgumentException("O limite da classificação não pode ser menor do que 1.");
+
+		this.limite = limite;
+		heap = (Colocacao<E>[]) new Colocacao[limite];
+		posicoes = new TabelaHash<>(2 * limite + 1);
+		tamanho = 0;
+	}
+
+	/**
+	 * Informa a contagem atual de um item. Se o item já está classificado, sua contagem é atualizada;
+	 * caso contrário, ele entra na classificação se houver espaço ou se superar o último colocado.
+	 * @param item item cuja contagem foi alterada.
+	 * @param contagem contagem total atual do item.
+	 */
+	public void atualizar(E item, int contagem) {
+
+		Colocacao<E> colocacao;
+
+		try {
+			colocacao = posicoes.pesquisar(item);
+			colocacao.contagem = contagem;
+			descer(colocacao.posicao);
+		} catch (NoSuchElementException excecao) {
+			if (tamanho < limite) {
+				colocacao = new Colocacao<>(item, contagem, tamanho);
+				heap[tamanho++] = colocacao;
+				posicoes.inserir(item, colocacao);
+				subir(colocacao.posicao);
+			} else if (contagem > heap[0].contagem) {
+				/// O novo item supera o último colocado, que deixa a classificação.
+				posicoes.remover(heap[0].item);
+				colocacao = new Colocacao<>(item, contagem, 0);
+				heap[0] = colocacao;
+				posicoes.inserir(item, colocacao);
+				descer(0);
+			}
+		}
+	}
+
+	/**
+	 * Retorna os itens classificados, do maior para o menor, como entradas (item --> contagem).
+	 * Custa O(K log K), pois apenas os K itens classificados são ordenados.
+	 * @return uma lista com as entradas da classificação. A lista pode estar vazia.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public Lista<Entrada<E, Integer>> classificacao() {
+
+		Colocacao<E>[] ordenados = (Colocacao<E>[]) new Colocacao[tamanho];
+		Lista<Entrada<E, Integer>> resultado = new Lista<>();
+
+		System.arraycopy(heap, 0, ordenados, 0, tamanho);
+		Arrays.sort(ordenados, (a, b) -> Integer.compare(b.contagem, a.contagem));
+
+		for (Colocacao<E> colocacao : ordenados)
+			resultado.inserirFinal(new Entrada<>(colocacao.item, colocacao.contagem));
+		return resultado;
+	}
+
+	public int tamanho() {
+		return tamanho;
+	}
+
+	private void subir(int posicao) {
+
+		int pai;
+
+		while (posicao > 0) {
+			pai = (posicao - 1) / 2;
+			if (heap[posicao].contagem >= heap[pai].contagem)
+				break;
+			trocar(posicao, pai);
+			posicao = pai;
+		}
+	}
+
+	private void descer(int posicao) {
+
+		int menor, esquerda, direita;
+
+		while (true) {
+			menor = posicao;
+			esquerda = 2 * posicao + 1;
+			direita = esquerda + 1;
+			if (esquerda < tamanho && heap[esquerda].contagem < heap[menor].contagem)
+				menor = esquerda;
+			if (direita < tamanho && heap[direita].contagem < heap[menor].contagem)
+				menor = direita;
+			if (menor == posicao)
+				break;
+			trocar(posicao, menor);
+			posicao = menor;
+		}
+	}
+
+	private void trocar(int i, int j) {
+
+		Colocacao<E> aux = heap[i];
+
+		heap[i] = heap[j];
+		heap[j] = aux;
+		heap[i].posicao = i;
+		heap[j].posicao = j;
+	}
+}
@@ -0,0 +1,201 @@
+import java.util.Arrays;
+
+/**
+ * Relação muitos-para-muitos entre identificadores inteiros (origens e destinos), armazenada uma única vez
+ * em formato CSR (compressed sparse row) nos dois sentidos.
+ * Para cada sentido, um vetor de inícios indica onde começam, em um vetor contíguo, os identificadores
+ * ligados a cada origem (ou destino). Assim, consultar as ligações de um identificador é uma leitura
+ * contígua de memória, sem uma célula alocada por ligação.
+ * Novas ligações entram em um buffer de pendentes e são incorporadas aos vetores compactados,
+ * em uma única passada de contagem, quando o buffer cresce ou quando {@link #compactar()} é chamado.
+ */
+public class RelacaoCSR {
+
+	private static final int LIMITE_MINIMO_PENDENTES = 1024;
+
+	/** Menor identificador de origem e de destino representados nos vetores compactados. */
+	private int menorOrigem, menorDestino;
+	/** Quantidade de posições (faixa de identificadores) de origem e de destino nos vetores compactados. */
+	private int faixaOrigens, faixaDestinos;
+
+	private int[] inicioOrigem;  // destinos da origem i estão em destinos[inicioOrigem[i] .. inicioOrigem[i + 1] - 1].
+	private int[] destinos;
+	private int[] inicioDestino; // origens do destino j estão em origens[inicioDestino[j] .. inicioDestino[j + 1] - 1].
+	private int[] origens;
+
+	private int[] pendentesOrigem;
+	private int[] pendentesDestino;
+	private int quantPendentes;
+
+	/**
+	 * Construtor da classe.
+	 * Esse construtor cria uma relação vazia.
+	 */
+	public RelacaoCSR() {
+		menorOrigem = menorDestino = 0;
+		faixaOrigens = faixaDestinos = 0;
+		inicioOrigem = new int[1];
+		inicioDestino = new int[1];
+		destinos = new int[0];
+		origens = new int[0];
+		pendentesOrigem = new int[16];
+		pendentesDestino = new int[16];
+		quantPendentes = 0;
+	}
+
+	/**
+	 * Registra uma ligação entre a origem e o destino informados.
+	 * A ligação é guardada no buffer de pendentes, que é compactado automaticamente quando cresce demais.
+	 * @param origem identificador de origem.
+	 * @param destino identificador de destino.
+	 */
+	public void ligar(int origem, int destino) {
+
+		if (quantPendentes == pendentesOrigem.length) {
+			pendentesOrigem = Arrays.copyOf(pendentesOrigem, 2 * quantPendentes);
+			pendentesDestino = Arrays.copyOf(pendentesDestino, 2 * quantPendentes);
+		}
+		pendentesOrigem[quantPendentes] = origem;
+		pendentesDestino[quantPendentes] = destino;
+		quantPendentes++;
+
+		if (quantPendentes >= Math.max(LIMITE_MINIMO_PENDENTES, destinos.length / 4))
+			compactar();
+	}
+
+	/**
+	 * Incorpora as ligações pendentes aos vetores compactados dos dois sentidos.
+	 * Os vetores são reconstruídos por contagem, em tempo linear no total de ligações.
+	 * Em cada sentido, as ligações de um identificador permanecem na ordem em que foram registradas.
+	 */
+	public void compactar() {
+
+		int total;
+		int[] chaves, valores, chavesDestino, valoresDestino;
+		int menorO = Integer.MAX_VALUE, maiorO = Integer.MIN_VALUE;
+		int menorD = Integer.MAX_VALUE, maiorD = Integer.MIN_VALUE;
+
+		if (quantPendentes == 0)
+			return;
+
+		total = destinos.length + quantPendentes;
+		chaves = new int[total];
+		valores = new int[total];
+
+		for (int i = 0; i < quantPendentes; i++) {
+			menorO = Math.min(menorO, pendentesOrigem[i]);
+			maiorO = Math.max(maiorO, pendentesOrigem[i]);
+			menorD = Math.min(menorD, pendentesDestino[i]);
+			maiorD = Math.max(maiorD, pendentesDestino[i]);
+		}
+		if (faixaOrigens > 0) {
+			menorO = Math.min(menorO, menorOrigem);
+			maiorO = Math.max(maiorO, menorOrigem + faixaOrigens - 1);
+			menorD = Math.min(menorD, menorDestino);
+			maiorD = Math.max(maiorD, menorDestino + faixaDestinos - 1);
+		}
+
+		/// Sentido origem -> destino: ligações já compactadas, agrupadas por origem, seguidas das pendentes.
+		desagrupar(menorOrigem, faixaOrigens, inicioOrigem, destinos, chaves, valores);
+		System.arraycopy(pendentesOrigem, 0, chaves, destinos.length, quantPendentes);
+		System.arraycopy(pendentesDestino, 0, valores, destinos.length, quantPendentes);
+		menorOrigem = menorO;
+		faixaOrigens = maiorO - menorO + 1;
+		inicioOrigem = new int[faixaOrigens + 1];
+
+		/// Sentido destino -> origem: mesma reconstrução, a partir dos vetores do próprio sentido.
+		chavesDestino = new int[total];
+		valoresDestino = new int[total];
+		desagrupar(menorDestino, faixaDestinos, inicioDestino, origens, chavesDestino, valoresDestino);
+		System.arraycopy(pendentesDestino, 0, chavesDestino, origens.length, quantPendentes);
+		System.arraycopy(pendentesOrigem, 0, valoresDestino, origens.length, quantPendentes);
+		menorDestino = menorD;
+		faixaDestinos = maiorD - menorD + 1;
+		inicioDestino = new int[faixaDestinos + 1];
+
+		destinos = distribuir(chaves, valores, menorOrigem, inicioOrigem);
+		origens = distribuir(chavesDestino, valoresDestino, menorDestino, inicioDestino);
+		quantPendentes = 0;
+	}
+
+	/**
+	 * Converte um sentido compactado de volta em pares (chave, valor), agrupados por chave.
+	 */
+	private void desagrupar(int menor, int faixa, int[] inicios, int[] vizinhos, int[] chaves, int[] valores) {
+
+		for (int i = 0; i < faixa; i++) {
+			for (int p = inicios[i]; p < inicios[i + 1]; p++) {
+				chaves[p] = menor + i;
+				valores[p] = vizinhos[p];
+			}
+		}
+	}
+
+	/**
+	 * Ordenação por contagem dos pares (chave, valor) pela chave, preenchendo o vetor de inícios.
+	 * @return o vetor de valores agrupados por chave, na ordem original dentro de cada grupo.
+	 */
+	private int[] distribuir(int[] chaves, int[] valores, int menor, int[] inicios) {
+
+		int[] agrupados = new int[chaves.length];
+		int[] proximaPosicao;
+
+		for (int chave : chaves)
+			inicios[chave - menor + 1]++;
+		for (int i = 1; i < inicios.length; i++)
+			inicios[i] += inicios[i - 1];
+
+		proximaPosicao = Arrays.copyOf(inicios, inicios.length - 1);
+		for (int i = 0; i < chaves.length; i++)
+			agrupados[proximaPosicao[chaves[i] - menor]++] = valores[i];
+		return agrupados;
+	}
+
+	/**
+	 * Retorna os destinos ligados à origem informada, incluindo as ligações ainda pendentes.
+	 * @param origem identificador de origem.
+	 * @return vetor com os destinos ligados. O vetor pode estar vazio.
+	 */
+	public int[] destinosDe(int origem) {
+		return ligados(origem, menorOrigem, faixaOrigens, inicioOrigem, destinos, pendentesOrigem, pendentesDestino);
+	}
+
+	/**
+	 * Retorna as origens ligadas ao destino informado, incluindo as ligações ainda pendentes.
+	 * @param destino identificador de destino.
+	 * @return vetor com as origens ligadas. O vetor pode estar vazio.
+	 */
+	public int[] origensDe(int destino) {
+		return ligados(destino, menorDestino, faixaDestinos, inicioDestino, origens, pendentesDestino, pendentesOrigem);
+	}
+
+	private int[] ligados(int id, int menor, int faixa, int[] inicios, int[] vizinhos, int[] pendentesChave, int[] pendentesValor) {
+
+		int inicio = 0, fim = 0, quantos;
+		int[] resultado;
+		int indice = id - menor;
+
+		if (indice >= 0 && indice < faixa) {
+			inicio = inicios[indice];
+			fim = inicios[indice + 1];
+		}
+		quantos = fim - inicio;
+		for (int i = 0; i < quantPendentes; i++)
+			if (pendentesChave[i] == id)
+				quantos++;
+
+		resultado = Arrays.copyOfRange(vizinhos, inicio, inicio + quantos);
+		quantos = fim - inicio;
+		for (int i = 0; i < quantPendentes; i++)
+			if (pendentesChave[i] == id)
+				resultado[quantos++] = pendentesValor[i];
+		return resultado;
+	}
+
+	/**
+	 * @return a quantidade total de ligações, compactadas e pendentes.
+	 */
+	public int tamanho() {
+		return destinos.length + quantPendentes;
+	}
+}
@@ -0,0 +1,124 @@
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Geração de relatórios em lote, em paralelo, para uma lista de produtos.
+ * Cada par (produto, relatório) vira uma tarefa de um executor com quantidade fixa de threads e fila limitada:
+ * quando a fila enche, a própria thread que distribui as tarefas executa a próxima, o que limita a memória
+ * usada por tarefas pendentes. As estruturas consultadas pelos relatórios são apenas lidas durante o lote.
+ */
+public class RelatoriosEmLote {
+
+	/**
+	 * Grava um relatório de um produto.
+	 * Retorna o nome do arquivo gravado, ou null se o produto não possui dados para o relatório.
+	 */
+	@FunctionalInterface
+	public interface Relatorio {
+		String gravar(Produto produto) throws IOException;
+	}
+
+	/** Resumo da execução de um lote. */
+	public static class Resumo {
+		private final int gerados;
+		private final int semDados;
+		private final int erros;
+		private final long bytes;
+		private final long nanos;
+
+		private Resumo(int gerados, int semDados, int erros, long bytes, long nanos) {
+			this.gerados = gerados;
+			this.semDados = semDados;
+			this.erros = erros;
+			this.bytes = bytes;
+			this.nanos = nanos;
+		}
+
+		public int getGerados() {
+			return gerados;
+		}
+
+		public int getErros() {
+			return erros;
+		}
+
+		public double getSegundos() {
+			return nanos / 1_000_000_000.0;
+		}
+
+		@Override
+		public String toString() {
+			double segundos = Math.max(getSegundos(), 1e-9);
+			return String.format("Relatórios gerados: %d | Sem dados: %d | Erros: %d\n"
+					+ "Tempo: %.3f s | %.1f relatórios/s | %.2f MB/s",
+					gerados, semDados, erros, segundos, gerados / segundos, bytes / segundos / (1024 * 1024));
+		}
+	}
+
+	private final int quantThreads;
+
+	/**
+	 * Construtor da classe.
+	 * @param quantThreads quantidade de threads usadas para gravar os relatórios.
+	 * @throws IllegalArgumentException caso a quantidade de threads seja um número não positivo.
+	 */
+	public RelatoriosEmLote(int quantThreads) {
+		if (quantThreads < 1)
+			throw new IllegalArgumentException("A quantidade de threads não pode ser menor do que 1.");
+		this.quantThreads = quantThreads;
+	}
+
+	/**
+	 * Gera, em paralelo, todos os relatórios informados para todos os produtos da lista
+	 * e aguarda a conclusão de todas as gravações.
+	 * @param produtos produtos para os quais os relatórios serão gerados.
+	 * @param relatorios relatórios gerados para cada produto.
+	 * @return o resumo da execução, com a vazão obtida.
+	 */
+	public Resumo gerar(Lista<Produto> produtos, Relatorio... relatorios) {
+
+		AtomicInteger gerados = new AtomicInteger();
+		AtomicInteger semDados = new AtomicInteger();
+		AtomicInteger erros = new AtomicInteger();
+		AtomicLong bytes = new AtomicLong();
+		long inicio = System.nanoTime();
+
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(quantThreads, quantThreads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(4 * quantThreads), new ThreadPoolExecutor.CallerRunsPolicy());
+
+		try {
+			for (Produto produto : produtos) {
+				for (Relatorio relatorio : relatorios) {
+					executor.execute(() -> {
+						try {
+							String nomeArquivo = relatorio.gravar(produto);
+							if (nomeArquivo == null) {
+								semDados.incrementAndGet();
+							} else {
+								gerados.incrementAndGet();
+								bytes.addAndGet(new File(nomeArquivo).length());
+							}
+						} catch (IOException | RuntimeException excecao) {
+							erros.incrementAndGet();
+						}
+					});
+				}
+			}
+		} finally {
+			executor.shutdown();
+			try {
+				executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+			} catch (InterruptedException excecao) {
+				executor.shutdownNow();
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		return new Resumo(gerados.get(), semDados.get(), erros.get(), bytes.get(), System.nanoTime() - inicio);
+	}
+}
@@ -0,0 +1,162 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serviço de consultas sem interface interativa, sobre os índices já carregados em {@link App}.
+ * O protocolo é textual, uma consulta por linha:
+ * <pre>
+ * PRODUTO id            dados do produto
+ * PEDIDOS id            pedidos do produto
+ * FORNECEDOR documento  dados do fornecedor e seus produtos
+ * FORNECEDORES id       fornecedores do produto
+ * SAIR                  encerra a conexão
+ * </pre>
+ * Cada resposta começa com "OK n", seguida de n linhas, ou é uma única linha "ERRO mensagem".
+ * As consultas apenas leem os índices, de modo que várias conexões podem ser atendidas simultaneamente;
+ * cada consulta usa a trava de leitura dos índices, para não ver pela metade um lote da ingestão incremental.
+ */
+public class ServicoConsultas {
+
+	private static final String SAIR = "SAIR";
+
+	/**
+	 * Responde a uma linha de consulta.
+	 * @param linha consulta no formato "COMANDO argumento".
+	 * @return a resposta completa, terminada por quebra de linha.
+	 */
+	public String responder(String linha) {
+
+		String[] partes = linha.trim().split("\\s+");
+		StringBuilder corpo = new StringBuilder();
+		int argumento;
+
+		if (partes.length != 2)
+			return "ERRO consulta inválida\n";
+		try {
+			argumento = Integer.parseInt(partes[1]);
+		} catch (NumberFormatException excecao) {
+			return "ERRO argumento deve ser um número inteiro\n";
+		}
+
+		App.travaIndices.readLock().lock();
+		try {
+			switch (partes[0].toUpperCase()) {
+				case "PRODUTO" -> corpo.append(App.produtosBalanceadosPorId.pesquisarInt(argumento)).append('\n');
+				case "PEDIDOS" -> {
+					Produto produto = App.produtosBalanceadosPorId.pesquisarInt(argumento);
+					for (Pedido pedido : App.pedidosPorProduto.pesquisar(produto))
+						pedido.escreverEm(corpo);
+				}
+				case "FORNECEDOR" -> corpo.append(App.descreverFornecedor(App.fornecedoresPorID.pesquisarInt(argumento)));
+				case "FORNECEDORES" -> {
+					for (int documento : App.produtoFornecedor.destinosDe(argumento))
+						corpo.append(App.fornecedoresPorID.pesquisarInt(documento).toString());
+				}
+				default -> {
+					return "ERRO comando desconhecido: " + partes[0] + "\n";
+				}
+			}
+		} catch (NoSuchElementException excecao) {
+			return "ERRO não encontrado: " + argumento + "\n";
+		} catch (IllegalArgumentException excecao) {
+			/// Um perecível vencido não tem preço de venda; a consulta falha, mas o serviço continua atendendo.
+			return "ERRO " + excecao.getMessage() + "\n";
+		} catch (IOException excecao) {
+			throw new UncheckedIOException(excecao);
+		} finally {
+			App.travaIndices.readLock().unlock();
+		}
+
+		return "OK " + contarLinhas(corpo) + "\n" + corpo;
+	}
+
+	private int contarLinhas(CharSequence texto) {
+		int linhas = 0;
+		for (int i = 0; i < texto.length(); i++)
+			if (texto.charAt(i) == '\n')
+				linhas++;
+		return linhas;
+	}
+
+	/**
+	 * Atende consultas de uma entrada até o fim da entrada ou até o comando SAIR.
+	 * A saída só é descarregada quando não há mais consultas já recebidas, permitindo consultas em sequência (pipeline).
+	 */
+	public void atender(BufferedReader entrada, Writer saida) throws IOException {
+
+		String linha;
+
+		while ((linha = entrada.readLine()) != null) {
+			if (linha.isBlank())
+				continue;
+			if (linha.trim().equalsIgnoreCase(SAIR))
+				break;
+			saida.write(responder(linha));
+			if (!entrada.ready())
+				saida.flush();
+		}
+		saida.flush();
+	}
+
+	/**
+	 * Atende consultas pela entrada padrão, com respostas na saída padrão.
+	 */
+	public void servirEntradaPadrao() throws IOException {
+		BufferedReader entrada = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+		Writer saida = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+		atender(entrada, saida);
+	}
+
+	/**
+	 * Atende consultas por socket TCP, apenas na interface local, com uma thread por conexão.
+	 * @param porta porta em que o serviço aguardará conexões.
+	 */
+	public void servirSocket(int porta) throws IOException {
+
+		ExecutorService executor = criarExecutor();
+
+		try (ServerSocket servidor = new ServerSocket(porta, 1024, InetAddress.getLoopbackAddress())) {
+			System.err.println("Serviço de consultas aguardando conexões na porta " + servidor.getLocalPort());
+			while (!servidor.isClosed()) {
+				Socket conexao = servidor.accept();
+				executor.execute(() -> atenderConexao(conexao));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private void atenderConexao(Socket conexao) {
+		try (conexao;
+				BufferedReader entrada = new BufferedReader(new InputStreamReader(conexao.getInputStream(), StandardCharsets.UTF_8));
+				Writer saida = new BufferedWriter(new OutputStreamWriter(conexao.getOutputStream(), StandardCharsets.UTF_8))) {
+			atender(entrada, saida);
+		} catch (IOException excecao) {
+			/// Conexão encerrada pelo cliente: nada a fazer.
+		}
+	}
+
+	/**
+	 * Usa threads virtuais quando a JVM as oferece (Java 21 ou superior), permitindo milhares de conexões
+	 * simultâneas; em versões anteriores, usa um pool de threads de plataforma que cresce sob demanda.
+	 */
+	private static ExecutorService criarExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException excecao) {
+			return Executors.newCachedThreadPool();
+		}
+	}
+}
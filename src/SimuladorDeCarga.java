@@ -0,0 +1,178 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Reprodutor de cargas de trabalho sobre qualquer {@link IMapeamento} com chaves inteiras.
+ * As operações são disparadas a uma taxa fixa: a operação i está agendada para (início + i / taxa).
+ * A latência de cada operação é medida a partir do instante agendado, e não do instante em que ela de fato
+ * começou; assim, atrasos acumulados quando o mapeamento não acompanha a taxa aparecem nos percentis.
+ * Inserções reinserem itens removidos anteriormente pela própria carga; sem item disponível, são ignoradas.
+ * Antes da medição, as pesquisas de um décimo da carga são executadas, sem medir, para aquecimento.
+ * O resultado inclui a média de comparações das pesquisas, lida dos contadores de {@link IMedicao} do mapeamento.
+ */
+public class SimuladorDeCarga<V> {
+
+	/** Resultado de uma reprodução: contagens, vazão e percentis de latência. */
+	public static class Resultado {
+		private final String nome;
+		private final int executadas;
+		private final int falhas;
+		private final int ignoradas;
+		private final long duracaoNanos;
+		private final long[] latencias;  // ordenadas, em nanossegundos.
+		private final double comparacoesPorPesquisa;
+
+		private Resultado(String nome, int executadas, int falhas, int ignoradas, long duracaoNanos, long[] latencias,
+				double comparacoesPorPesquisa) {
+			this.nome = nome;
+			this.executadas = executadas;
+			this.falhas = falhas;
+			this.ignoradas = ignoradas;
+			this.duracaoNanos = duracaoNanos;
+			this.latencias = latencias;
+			this.comparacoesPorPesquisa = comparacoesPorPesquisa;
+		}
+
+		/**
+		 * @return a média de comparações, segundo {@link IMedicao#getComparacoes()}, das pesquisas bem-sucedidas.
+		 */
+		public double getComparacoesPorPesquisa() {
+			return comparacoesPorPesquisa;
+		}
+
+		public double getVazao() {
+			return executadas / (Math.max(duracaoNanos, 1) / 1_000_000_000.0);
+		}
+
+		/**
+		 * @param percentil percentil desejado, entre 0 e 100.
+		 * @return a latência, em microssegundos, abaixo da qual estão "percentil"% das operações.
+		 */
+		public double getPercentil(double percentil) {
+			int posicao;
+			if (latencias.length == 0)
+				return 0.0;
+			posicao = (int) Math.ceil(percentil / 100.0 * latencias.length) - 1;
+			posicao = Math.max(0, Math.min(posicao, latencias.length - 1));
+			return latencias[posicao] / 1_000.0;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s: %d operações (%d falhas, %d ignoradas) | %.0f op/s | "
+					+ "latência (µs) p50 %.1f  p90 %.1f  p99 %.1f  p99,9 %.1f  máx %.1f | comparações/pesquisa %.1f",
+					nome, executadas, falhas, ignoradas, getVazao(),
+					getPercentil(50), getPercentil(90), getPercentil(99), getPercentil(99.9), getPercentil(100),
+					comparacoesPorPesquisa);
+		}
+	}
+
+	private final String nome;
+	private final IMapeamento<Integer, V> alvo;
+	private final Consumer<V> relatorio;
+	private final TabelaHash<Integer, V> removidos;
+	private long comparacoesPesquisas;
+	private int pesquisas;
+
+	/**
+	 * Construtor da classe.
+	 * @param nome nome da configuração, usado no resultado.
+	 * @param alvo mapeamento sobre o qual a carga será reproduzida.
+	 * @param relatorio ação executada sobre o item encontrado nas operações de relatório.
+	 */
+	public SimuladorDeCarga(String nome, IMapeamento<Integer, V> alvo, Consumer<V> relatorio) {
+		this.nome = nome;
+		this.alvo = alvo;
+		this.relatorio = relatorio;
+		this.removidos = new TabelaHash<>(1021);
+	}
+
+	/**
+	 * Reproduz as operações sobre o mapeamento, à taxa informada.
+	 * @param operacoes operações a serem reproduzidas.
+	 * @param operacoesPorSegundo taxa de disparo; 0 dispara as operações sem intervalo.
+	 * @return o resultado da reprodução.
+	 */
+	public Resultado reproduzir(GeradorDeCarga.Operacao[] operacoes, int operacoesPorSegundo) {
+
+		long[] latencias = new long[operacoes.length];
+		long intervalo = (operacoesPorSegundo > 0) ? 1_000_000_000L / operacoesPorSegundo : 0;
+		int executadas = 0, falhas = 0, ignoradas = 0;
+		long inicio, agendada, restante;
+
+		/// Aquecimento: apenas pesquisas, para não alterar o conteúdo do alvo antes da medição.
+		for (int i = 0; i < operacoes.length / 10; i++)
+			if (operacoes[i].getTipo() == GeradorDeCarga.TipoOperacao.PESQUISA)
+				executar(operacoes[i]);
+
+		comparacoesPesquisas = 0;
+		pesquisas = 0;
+		inicio = System.nanoTime();
+		for (int i = 0; i < operacoes.length; i++) {
+			agendada = inicio + i * intervalo;
+			/// Dorme enquanto falta muito para o instante agendado e espera ativamente no trecho final,
+			/// pois a granularidade de parkNanos distorceria as latências.
+			while ((restante = agendada - System.nanoTime()) > 0) {
+				if (restante > 200_000)
+					LockSupport.parkNanos(restante - 100_000);
+				else
+					Thread.onSpinWait();
+			}
+			if (intervalo == 0)
+				agendada = System.nanoTime();
+
+			switch (executar(operacoes[i])) {
+				case IGNORADA -> ignoradas++;
+				case FALHA -> falhas++;
+				default -> { }
+			}
+			latencias[executadas++] = System.nanoTime() - agendada;
+		}
+
+		Arrays.sort(latencias);
+		return new Resultado(nome, executadas, falhas, ignoradas, System.nanoTime() - inicio, latencias,
+				(pesquisas > 0) ? (double) comparacoesPesquisas / pesquisas : 0.0);
+	}
+
+	private enum Situacao { SUCESSO, FALHA, IGNORADA }
+
+	private Situacao executar(GeradorDeCarga.Operacao operacao) {
+
+		int chave = operacao.getChave();
+
+		try {
+			switch (operacao.getTipo()) {
+				case PESQUISA -> {
+					alvo.pesquisar(chave);
+					contarComparacoes();
+				}
+				case RELATORIO -> {
+					V item = alvo.pesquisar(chave);
+					contarComparacoes();
+					relatorio.accept(item);
+				}
+				case REMOCAO -> removidos.inserir(chave, alvo.remover(chave));
+				case INSERCAO -> {
+					V item;
+					try {
+						item = removidos.remover(chave);
+					} catch (NoSuchElementException | IllegalStateException semItem) {
+						return Situacao.IGNORADA;
+					}
+					alvo.inserir(chave, item);
+				}
+			}
+			return Situacao.SUCESSO;
+		} catch (NoSuchElementException | IllegalArgumentException | IllegalStateException excecao) {
+			/// Chave ausente ou repetida. A TabelaHash sinaliza remoção em posição vazia com IllegalStateException.
+			return Situacao.FALHA;
+		}
+	}
+
+	private void contarComparacoes() {
+		comparacoesPesquisas += alvo.getComparacoes();
+		pesquisas++;
+	}
+}
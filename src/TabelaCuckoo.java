@@ -0,0 +1,385 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Tabela hash cuckoo, com pior caso limitado nas pesquisas.
+ * Cada chave tem duas posições possíveis, dadas por duas funções hash, e cada posição é um balde com
+ * {@value #POSICOES_POR_BALDE} entradas. Uma pesquisa examina apenas esses dois baldes e uma pequena reserva
+ * (stash) de no máximo {@value #TAMANHO_RESERVA} entradas: no pior caso, {@value #COMPARACOES_MAXIMAS} comparações,
+ * independentemente da quantidade de itens ou da distribuição das chaves.
+ * Na inserção, se os dois baldes estiverem cheios, uma entrada é desalojada para o seu outro balde, que pode desalojar
+ * outra, e assim por diante; se a sequência ficar longa demais, a entrada que sobrou vai para a reserva e, com a reserva
+ * cheia, a tabela dobra de tamanho. O custo extra fica nas inserções, que são raras em relação às pesquisas.
+ * Cada inserção dobra a tabela no máximo {@value #REDIMENSIONAMENTOS_MAXIMOS} vezes: chaves com o mesmo hashCode
+ * caem sempre nos mesmos dois baldes, e a inserção que não couber é recusada, em vez de crescer a tabela sem fim.
+ */
+public class TabelaCuckoo<K, V> implements IMapeamento<K, V> {
+
+	private static final int POSICOES_POR_BALDE = 4;
+	private static final int TAMANHO_RESERVA = 4;
+	private static final int COMPARACOES_MAXIMAS = 2 * POSICOES_POR_BALDE + TAMANHO_RESERVA;
+	private static final int DESLOCAMENTOS_MAXIMOS = 256;
+	private static final int REDIMENSIONAMENTOS_MAXIMOS = 4; // por inserção.
+	private static final double OCUPACAO_MAXIMA = 0.9;
+
+	private Object[] chaves;
+	private Object[] itens;
+	private long[] hashes;         // hash de 64 bits de cada entrada: metade baixa, 1º balde; metade alta, 2º balde.
+	private int mascaraBaldes;
+	private final Object[] chavesReserva;
+	private final Object[] itensReserva;
+	private final long[] hashesReserva;
+	private int quantReserva;
+	private int tamanho;
+	private long sorteio;          // estado do gerador que escolhe a entrada desalojada.
+	private long comparacoes;
+	private long inicio;
+	private long termino;
+
+	/**
+	 * Construtor da classe.
+	 * @param capacidade quantidade de itens esperada; a tabela cresce se ela for ultrapassada.
+	 * @throws IllegalArgumentException caso a capacidade seja um número não positivo.
+	 */
+	public TabelaCuckoo(int capacidade) {
+
+		if (capacidade < 1)
+			throw new IllegalArgumentException("A capacidade da tabela não pode ser menor do que 1.");
+
+		alocar(quantBaldesPara(capacidade));
+		chavesReserva = new Object[TAMANHO_RESERVA];
+		itensReserva = new Object[TAMANHO_RESERVA];
+		hashesReserva = new long[TAMANHO_RESERVA];
+		sorteio = 0x2545F4914F6CDD1DL;
+	}
+
+	private static int quantBaldesPara(int capacidade) {
+		int baldes = (int) Math.ceil(capacidade / (OCUPACAO_MAXIMA * POSICOES_POR_BALDE));
+		return Math.max(2, Integer.highestOneBit(Math.max(baldes, 2) - 1) << 1);
+	}
+
+	private void alocar(int quantBaldes) {
+		chaves = new Object[quantBaldes * POSICOES_POR_BALDE];
+		itens = new Object[quantBaldes * POSICOES_POR_BALDE];
+		hashes = new long[quantBaldes * POSICOES_POR_BALDE];
+		mascaraBaldes = quantBaldes - 1;
+	}
+
+	/** Espalha o hashCode em 64 bits (finalizador do SplitMix64); cada metade alimenta uma das funções hash. */
+	private static long misturar(int hashCode) {
+		long h = hashCode * 0x9E3779B97F4A7C15L;
+		h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+		h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+		return h ^ (h >>> 31);
+	}
+
+	private int primeiroBalde(long hash) {
+		return (int) hash & mascaraBaldes;
+	}
+
+	private int segundoBalde(long hash) {
+		int balde = (int) (hash >>> 32) & mascaraBaldes;
+		/// Os dois baldes de uma chave precisam ser diferentes.
+		return (balde != primeiroBalde(hash)) ? balde : balde ^ 1;
+	}
+
+	/**
+	 * @return a posição da entrada com a chave no vetor de entradas, -(posição na reserva + 1), ou
+	 * {@code Integer.MIN_VALUE} se a chave não estiver na tabela.
+	 */
+	private int localizar(K chave, long hash) {
+
+		int posicao = procurarNoBalde(primeiroBalde(hash), chave, hash);
+
+		if (posicao >= 0)
+			return posicao;
+		posicao = procurarNoBalde(segundoBalde(hash), chave, hash);
+		if (posicao >= 0)
+			return posicao;
+		for (int i = 0; i < quantReserva; i++) {
+			comparacoes++;
+			if (hashesReserva[i] == hash && chavesReserva[i].equals(chave))
+				return -(i + 1);
+		}
+		return Integer.MIN_VALUE;
+	}
+
+	private int procurarNoBalde(int balde, K chave, long hash) {
+
+		int inicioBalde = balde * POSICOES_POR_BALDE;
+
+		for (int i = inicioBalde; i < inicioBalde + POSICOES_POR_BALDE; i++) {
+			if (chaves[i] != null) {
+				comparacoes++;
+				if (hashes[i] == hash && chaves[i].equals(chave))
+					return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Pesquisa o item associado à chave, examinando no máximo dois baldes e a reserva.
+	 * @return o item associado à chave.
+	 * @throws NoSuchElementException caso a chave não esteja presente na tabela.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public V pesquisar(K chave) {
+
+		int posicao;
+
+		comparacoes = 0;
+		inicio = System.nanoTime();
+		posicao = localizar(chave, misturar(chave.hashCode()));
+		termino = System.nanoTime();
+
+		if (posicao == Integer.MIN_VALUE)
+			throw new NoSuchElementException("Item não encontrado!");
+		return (V) ((posicao >= 0) ? itens[posicao] : itensReserva[-posicao - 1]);
+	}
+
+	/**
+	 * Insere um novo item na tabela.
+	 * @return o tamanho atualizado da tabela.
+	 * @throws IllegalArgumentException no caso de um item, com a mesma chave, já existir na tabela.
+	 * @throws IllegalStateException caso o item não caiba na tabela: chaves com o mesmo hashCode têm sempre os mesmos
+	 * dois baldes, que nenhum crescimento separa; mais de {@value #POSICOES_POR_BALDE} vezes 2 delas, além do que
+	 * couber na reserva, não podem ser armazenadas. A tabela não é alterada nesse caso.
+	 */
+	@Override
+	public int inserir(K chave, V item) {
+
+		long hash = misturar(chave.hashCode());
+
+		if (localizar(chave, hash) != Integer.MIN_VALUE)
+			throw new IllegalArgumentException("O item já havia sido inserido anteriormente na tabela hash!");
+
+		if (tamanho + 1 > OCUPACAO_MAXIMA * chaves.length)
+			reconstruir((mascaraBaldes + 1) * 2);
+		for (int redimensionamentos = 0; !posicionar(chave, item, hash); redimensionamentos++) {
+			/// Com os dois baldes tomados por chaves de hash idêntico, crescer não adianta.
+			if (redimensionamentos == REDIMENSIONAMENTOS_MAXIMOS || contarHashesIguais(hash) >= 2 * POSICOES_POR_BALDE)
+				throw new IllegalStateException("Não há lugar para a chave " + chave
+						+ ": há chaves demais com o mesmo hashCode na tabela cuckoo.");
+			reconstruir((mascaraBaldes + 1) * 2);
+		}
+		tamanho++;
+		return tamanho;
+	}
+
+	/** @return quantas entradas dos dois baldes do hash têm exatamente esse hash. */
+	private int contarHashesIguais(long hash) {
+
+		int iguais = 0;
+
+		for (int balde : new int[] { primeiroBalde(hash), segundoBalde(hash) })
+			for (int i = balde * POSICOES_POR_BALDE; i < (balde + 1) * POSICOES_POR_BALDE; i++)
+				if (chaves[i] != null && hashes[i] == hash)
+					iguais++;
+		return iguais;
+	}
+
+	/**
+	 * Coloca a entrada em um de seus baldes, desalojando outras entradas se necessário.
+	 * A entrada que ficar sem lugar vai para a reserva. Com a reserva cheia, os deslocamentos são desfeitos,
+	 * na ordem inversa, e a tabela volta exatamente ao estado anterior.
+	 * @return false se a entrada não pôde ser colocada sem que a tabela cresça.
+	 */
+	private boolean posicionar(Object chave, Object item, long hash) {
+
+		Object chaveDesalojada, itemDesalojado;
+		long hashDesalojado;
+		int balde, deslocamentos;
+		int[] caminho;
+
+		if (colocarNoBalde(primeiroBalde(hash), chave, item, hash) || colocarNoBalde(segundoBalde(hash), chave, item, hash))
+			return true;
+
+		caminho = new int[DESLOCAMENTOS_MAXIMOS];
+		balde = primeiroBalde(hash);
+		for (deslocamentos = 0; deslocamentos < DESLOCAMENTOS_MAXIMOS; deslocamentos++) {
+			/// Troca a entrada com uma entrada sorteada do balde, que segue para o seu outro balde.
+			caminho[deslocamentos] = balde * POSICOES_POR_BALDE + sortearPosicao();
+			chaveDesalojada = chaves[caminho[deslocamentos]];
+			itemDesalojado = itens[caminho[deslocamentos]];
+			hashDesalojado = hashes[caminho[deslocamentos]];
+			chaves[caminho[deslocamentos]] = chave;
+			itens[caminho[deslocamentos]] = item;
+			hashes[caminho[deslocamentos]] = hash;
+			chave = chaveDesalojada;
+			item = itemDesalojado;
+			hash = hashDesalojado;
+
+			balde = (primeiroBalde(hash) == balde) ? segundoBalde(hash) : primeiroBalde(hash);
+			if (colocarNoBalde(balde, chave, item, hash))
+				return true;
+		}
+
+		if (quantReserva < TAMANHO_RESERVA) {
+			chavesReserva[quantReserva] = chave;
+			itensReserva[quantReserva] = item;
+			hashesReserva[quantReserva] = hash;
+			quantReserva++;
+			return true;
+		}
+
+		/// Cada deslocamento foi uma troca: refeitas de trás para a frente, elas devolvem cada entrada ao seu lugar.
+		while (deslocamentos > 0) {
+			int posicao = caminho[--deslocamentos];
+			chaveDesalojada = chaves[posicao];
+			itemDesalojado = itens[posicao];
+			hashDesalojado = hashes[posicao];
+			chaves[posicao] = chave;
+			itens[posicao] = item;
+			hashes[posicao] = hash;
+			chave = chaveDesalojada;
+			item = itemDesalojado;
+			hash = hashDesalojado;
+		}
+		return false;
+	}
+
+	private boolean colocarNoBalde(int balde, Object chave, Object item, long hash) {
+
+		int inicioBalde = balde * POSICOES_POR_BALDE;
+
+		for (int i = inicioBalde; i < inicioBalde + POSICOES_POR_BALDE; i++) {
+			if (chaves[i] == null) {
+				chaves[i] = chave;
+				itens[i] = item;
+				hashes[i] = hash;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private int sortearPosicao() {
+		sorteio ^= sorteio << 13;
+		sorteio ^= sorteio >>> 7;
+		sorteio ^= sorteio << 17;
+		return (int) (sorteio >>> 60) & (POSICOES_POR_BALDE - 1);
+	}
+
+	/**
+	 * Reposiciona todas as entradas, inclusive as da reserva, em uma tabela com a quantidade de baldes informada,
+	 * dobrando-a enquanto alguma entrada não couber, no máximo {@value #REDIMENSIONAMENTOS_MAXIMOS} vezes.
+	 * Se nenhum tamanho servir, a tabela anterior é mantida intacta.
+	 */
+	private void reconstruir(int quantBaldes) {
+
+		Object[] chavesAntigas = chaves, itensAntigos = itens;
+		long[] hashesAntigos = hashes;
+		int reservaAntiga = quantReserva;
+		Object[] chavesDaReserva = chavesReserva.clone(), itensDaReserva = itensReserva.clone();
+		long[] hashesDaReserva = hashesReserva.clone();
+		boolean coube;
+
+		for (int tentativa = 0; tentativa <= REDIMENSIONAMENTOS_MAXIMOS; tentativa++, quantBaldes *= 2) {
+			alocar(quantBaldes);
+			quantReserva = 0;
+			Arrays.fill(chavesReserva, null);
+			Arrays.fill(itensReserva, null);
+
+			coube = true;
+			for (int i = 0; coube && i < chavesAntigas.length; i++)
+				if (chavesAntigas[i] != null)
+					coube = posicionar(chavesAntigas[i], itensAntigos[i], hashesAntigos[i]);
+			for (int i = 0; coube && i < reservaAntiga; i++)
+				coube = posicionar(chavesDaReserva[i], itensDaReserva[i], hashesDaReserva[i]);
+			if (coube)
+				return;
+		}
+
+		chaves = chavesAntigas;
+		itens = itensAntigos;
+		hashes = hashesAntigos;
+		mascaraBaldes = chavesAntigas.length / POSICOES_POR_BALDE - 1;
+		System.arraycopy(chavesDaReserva, 0, chavesReserva, 0, TAMANHO_RESERVA);
+		System.arraycopy(itensDaReserva, 0, itensReserva, 0, TAMANHO_RESERVA);
+		System.arraycopy(hashesDaReserva, 0, hashesReserva, 0, TAMANHO_RESERVA);
+		quantReserva = reservaAntiga;
+	}
+
+	/**
+	 * Remove o item associado à chave.
+	 * @return o item removido.
+	 * @throws NoSuchElementException caso a chave não esteja presente na tabela.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public V remover(K chave) {
+
+		int posicao = localizar(chave, misturar(chave.hashCode()));
+		V removido;
+
+		if (posicao == Integer.MIN_VALUE)
+			throw new NoSuchElementException("Item não encontrado!");
+
+		if (posicao >= 0) {
+			removido = (V) itens[posicao];
+			chaves[posicao] = null;
+			itens[posicao] = null;
+		} else {
+			/// Na reserva, a última entrada ocupa o lugar da removida.
+			posicao = -posicao - 1;
+			removido = (V) itensReserva[posicao];
+			quantReserva--;
+			chavesReserva[posicao] = chavesReserva[quantReserva];
+			itensReserva[posicao] = itensReserva[quantReserva];
+			hashesReserva[posicao] = hashesReserva[quantReserva];
+			chavesReserva[quantReserva] = null;
+			itensReserva[quantReserva] = null;
+		}
+		tamanho--;
+		return removido;
+	}
+
+	/**
+	 * @return o maior número de comparações que uma pesquisa pode fazer nesta tabela.
+	 */
+	public static int getComparacoesMaximas() {
+		return COMPARACOES_MAXIMAS;
+	}
+
+	/**
+	 * @return a fração das posições dos baldes ocupada por entradas.
+	 */
+	public double ocupacao() {
+		return (double) (tamanho - quantReserva) / chaves.length;
+	}
+
+	@Override
+	public String toString() {
+		return percorrer();
+	}
+
+	@Override
+	public String percorrer() {
+
+		StringBuilder conteudo = new StringBuilder("Tabela cuckoo com " + (mascaraBaldes + 1) + " baldes e " + tamanho + " itens\n");
+
+		for (int i = 0; i < chaves.length; i++)
+			if (chaves[i] != null)
+				conteudo.append(chaves[i]).append("-->").append(itens[i]).append("\n");
+		for (int i = 0; i < quantReserva; i++)
+			conteudo.append(chavesReserva[i]).append("-->").append(itensReserva[i]).append(" (reserva)\n");
+		return conteudo.toString();
+	}
+
+	@Override
+	public int tamanho() {
+		return tamanho;
+	}
+
+	@Override
+	public long getComparacoes() {
+		return comparacoes;
+	}
+
+	@Override
+	public double getTempo() {
+		return (termino - inicio) / 1_000_000;
+	}
+}
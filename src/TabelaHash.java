@@ -1,7 +1,74 @@
+import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class TabelaHash<K, V> implements IMapeamento<K, V> {
 
+	/**
+	 * Retrato da distribuição dos itens pelas posições da tabela, para detectar agrupamentos de chaves.
+	 */
+	public static class Diagnostico {
+		private final int capacidade;
+		private final int quantItens;
+		private final int[] histograma;   // histograma[t]: quantidade de posições cuja lista tem t itens.
+
+		private Diagnostico(int capacidade, int quantItens, int[] histograma) {
+			this.capacidade = capacidade;
+			this.quantItens = quantItens;
+			this.histograma = histograma;
+		}
+
+		/**
+		 * @return vetor em que a posição t contém a quantidade de listas com exatamente t itens.
+		 */
+		public int[] getHistograma() {
+			return histograma.clone();
+		}
+
+		public int getMaiorLista() {
+			return histograma.length - 1;
+		}
+
+		public int getPosicoesVazias() {
+			return histograma[0];
+		}
+
+		/**
+		 * @return a média de comparações de uma pesquisa bem-sucedida, supondo todas as chaves igualmente pesquisadas.
+		 */
+		public double getMediaComparacoesSucesso() {
+			long soma = 0;
+			if (quantItens == 0)
+				return 0.0;
+			for (int t = 1; t < histograma.length; t++)
+				soma += (long) histograma[t] * t * (t + 1) / 2;
+			return (double) soma / quantItens;
+		}
+
+		/**
+		 * @return a média de comparações de uma pesquisa por chave ausente, que percorre uma lista inteira.
+		 */
+		public double getMediaComparacoesFalha() {
+			return (double) quantItens / capacidade;
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder texto = new StringBuilder(String.format(
+					"%d itens em %d posições (fator de carga %.2f) | vazias: %d | maior lista: %d | "
+					+ "comparações médias: %.2f com sucesso, %.2f sem sucesso\nHistograma (itens na lista: posições):",
+					quantItens, capacidade, getMediaComparacoesFalha(), getPosicoesVazias(), getMaiorLista(),
+					getMediaComparacoesSucesso(), getMediaComparacoesFalha()));
+			for (int t = 0; t < histograma.length; t++)
+				if (histograma[t] > 0)
+					texto.append(' ').append(t).append(": ").append(histograma[t]);
+			return texto.toString();
+		}
+	}
+
 	private Lista<Entrada<K, V>>[] tabelaHash; /// tabela que referenciará todas as listas lineares encadeadas.
 								      /// Nesse caso, estamos utilizando uma tabela hash com endereçamento em separado,
 								      /// ou seja, os itens são armazenados em listas lineares encadeadas.
@@ -12,6 +79,8 @@ public class TabelaHash<K, V> implements IMapeamento<K, V> {
 	private int comparacoes;		// contador de operacoes para busca
 	private long inicio;
 	private long termino;
+	private FiltroBloom<K> filtro;	/// filtro opcional para descartar pesquisas por chaves ausentes sem percorrer as listas.
+	private final IEstrategiaHash estrategia;	/// transformação do hashCode da chave em posição da tabela.
 	
 	/**
 	 * Construtor da classe.
@@ -19,12 +88,24 @@ public class TabelaHash<K, V> implements IMapeamento<K, V> {
 	 * Assim, esse método atribui, ao atributo "capacidade", dessa classe, o valor passado por meio do parâmetro "capacidade".
 	 * Esse método também cria um vetor, de tamanho "capacidade", de listas lineares; e o atribui ao atributo "tabelaHash".
 	 * Adicionalmente, cada posição do vetor é inicializada com uma lista encadeada vazia.
+	 * A posição de cada chave é o resto da divisão do seu hashCode pela capacidade.
 	 * @param capacidade: quantidade de posições da tabela hash. Cada posição é uma lista encadeada. 
 	 * @throws IllegalArgumentException caso a capacidade seja um número não positivo.
 	 */
-	@SuppressWarnings("unchecked")
 	public TabelaHash(int capacidade) {
+		this(capacidade, IEstrategiaHash.RESTO_DIVISAO);
+	}
+
+	/**
+	 * Construtor da classe, com a estratégia de transformação informada.
+	 * @param capacidade: quantidade de posições da tabela hash. Cada posição é uma lista encadeada.
+	 * @param estrategia: transformação do hashCode da chave em posição da tabela (ver {@link IEstrategiaHash}).
+	 * @throws IllegalArgumentException caso a capacidade seja um número não positivo.
+	 */
+	@SuppressWarnings("unchecked")
+	public TabelaHash(int capacidade, IEstrategiaHash estrategia) {
 		
+		this.estrategia = estrategia;
 		if (capacidade < 1) {
 			throw new IllegalStateException("A capacidade da tabela hash não pode ser menor do que 1.");
 		}
@@ -39,12 +120,13 @@ public class TabelaHash<K, V> implements IMapeamento<K, V> {
 	 *  Esse método implementa a função de transformação da tabela hash, 
 	 * ou seja, calcula a posição, na tabela hash, em que o item,
 	 * que possui a chave informada por meio do parâmetro "chave", deve ser encontrado.
-	 * A função de transformação utilizada corresponde ao resto da divisão do hashCode de "chave" pelo tamanho da tabela hash.
+	 * A função de transformação utilizada é a estratégia escolhida na construção da tabela;
+	 * por padrão, o resto da divisão do hashCode de "chave" pelo tamanho da tabela hash.
 	 * @param chave: chave da qual desejamos saber a posição na tabela hash.
 	 * @return a posição que o item, cuja chave corresponde a que foi passada como parâmetro para esse método, deve ocupar na tabela hash.
 	 */
 	private int funcaoHash(K chave) {
-		return Math.abs(chave.hashCode() % capacidade);
+		return estrategia.posicao(chave.hashCode(), capacidade);
 	}
 	
 	/**
@@ -73,9 +155,39 @@ public class TabelaHash<K, V> implements IMapeamento<K, V> {
 			throw new IllegalArgumentException("O item já havia sido inserido anteriormente na tabela hash!");
 		} catch (NoSuchElementException excecao) {
 			tabelaHash[posicao].inserirFinal(entrada);
+			if (filtro != null)
+				filtro.adicionar(chave);
 			return posicao;
 		}
 	}
+
+	/**
+	 * Associa à tabela hash um filtro de Bloom com as chaves já armazenadas.
+	 * A partir daí, pesquisas por chaves que o filtro indica como ausentes falham sem percorrer nenhuma lista.
+	 * @param quantEsperada quantidade de chaves para a qual o filtro é dimensionado.
+	 * @param taxaFalsosPositivos taxa de falsos positivos desejada com essa quantidade de chaves.
+	 */
+	public void usarFiltroBloom(int quantEsperada, double taxaFalsosPositivos) {
+		filtro = new FiltroBloom<>(quantEsperada, taxaFalsosPositivos);
+		for (int i = 0; i < capacidade; i++)
+			for (Entrada<K, V> entrada : tabelaHash[i])
+				filtro.adicionar(entrada.getChave());
+	}
+
+	/**
+	 * @return o filtro de Bloom associado à tabela, ou null se a tabela não usa filtro.
+	 */
+	public FiltroBloom<K> getFiltroBloom() {
+		return filtro;
+	}
+
+	/**
+	 * Consulta apenas o filtro de Bloom, sem lançar exceção e sem percorrer as listas.
+	 * @return false se a chave certamente não está na tabela; true se talvez esteja (sempre true sem filtro).
+	 */
+	public boolean talvezContenha(K chave) {
+		return (filtro == null) || filtro.talvezContenha(chave);
+	}
 	
 	/**
 	 * Método responsável por localizar, na tabela hash, o item
@@ -95,9 +207,21 @@ public class TabelaHash<K, V> implements IMapeamento<K, V> {
 		Entrada<K, V> procurado = new Entrada<>(chave, null);
 		
 		inicio = System.nanoTime();
+		/// o filtro de Bloom, se houver, descarta a maior parte das chaves ausentes antes do acesso à lista.
+		if (filtro != null && !filtro.talvezContenha(chave)) {
+			comparacoes = 0;
+			termino = System.nanoTime();
+			throw new NoSuchElementException("Item não encontrado!");
+		}
 		/// pesquisa o item, cuja chave foi passada como parâmetro para esse método,
 		/// na lista encadeada associada à posição, da tabela hash, em que esse item deve estar armazenado.
-		procurado = tabelaHash[posicao].pesquisar(procurado);
+		try {
+			procurado = tabelaHash[posicao].pesquisar(procurado);
+		} catch (NoSuchElementException excecao) {
+			if (filtro != null)
+				filtro.registrarFalsoPositivo();
+			throw excecao;
+		}
 		comparacoes += tabelaHash[posicao].getComparacoes();
 		termino = System.nanoTime();
 		return procurado.getValor();
@@ -166,6 +290,96 @@ public class TabelaHash<K, V> implements IMapeamento<K, V> {
 		return tamanho;
 	}
 
+	/**
+	 * Levanta a distribuição atual dos itens pelas posições da tabela.
+	 * @return o histograma de tamanhos das listas, a maior lista e as médias de comparações por pesquisa.
+	 */
+	public Diagnostico diagnosticar() {
+
+		int maiorLista = 0, quantItens = 0;
+		int[] histograma;
+
+		for (int i = 0; i < capacidade; i++)
+			maiorLista = Math.max(maiorLista, tabelaHash[i].tamanho());
+		histograma = new int[maiorLista + 1];
+		for (int i = 0; i < capacidade; i++) {
+			histograma[tabelaHash[i].tamanho()]++;
+			quantItens += tabelaHash[i].tamanho();
+		}
+		return new Diagnostico(capacidade, quantItens, histograma);
+	}
+
+	/**
+	 * @return um divisor dos itens da tabela, sem ordem definida, que se divide por faixas de posições
+	 * (ver {@link DivisorTabela}). A tabela não deve ser alterada enquanto o divisor estiver em uso.
+	 */
+	public Spliterator<V> spliterator() {
+		return new DivisorTabela(0, capacidade, tamanho());
+	}
+
+	/**
+	 * @return um fluxo paralelo dos itens da tabela, para agregações sobre todo o conteúdo.
+	 */
+	public Stream<V> fluxoParalelo() {
+		return StreamSupport.stream(spliterator(), true);
+	}
+
+	/**
+	 * Divisor (Spliterator) dos itens de uma faixa de posições da tabela. A divisão entrega a outro divisor
+	 * a metade final das posições ainda não iniciadas, sem percorrer nenhuma lista.
+	 */
+	private final class DivisorTabela implements Spliterator<V> {
+
+		private int proxima;                  // próxima posição a ser iniciada.
+		private int fim;                      // posição seguinte à última da faixa.
+		private Iterator<Entrada<K, V>> atual; // lista da posição em andamento, ou null.
+		private long estimativa;
+
+		private DivisorTabela(int inicio, int fim, long estimativa) {
+			this.proxima = inicio;
+			this.fim = fim;
+			this.estimativa = estimativa;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super V> acao) {
+
+			while (atual == null || !atual.hasNext()) {
+				if (proxima == fim)
+					return false;
+				atual = tabelaHash[proxima++].iterator();
+			}
+			if (estimativa > 0)
+				estimativa--;
+			acao.accept(atual.next().getValor());
+			return true;
+		}
+
+		@Override
+		public Spliterator<V> trySplit() {
+
+			int meio = (proxima + fim) >>> 1;
+			DivisorTabela finais;
+
+			if (fim - proxima < 2)
+				return null;
+			finais = new DivisorTabela(meio, fim, estimativa * (fim - meio) / (fim - proxima));
+			estimativa -= finais.estimativa;
+			fim = meio;
+			return finais;
+		}
+
+		@Override
+		public long estimateSize() {
+			return estimativa;
+		}
+
+		@Override
+		public int characteristics() {
+			return 0;
+		}
+	}
+
 	@Override
 	public long getComparacoes() {
 		return comparacoes;
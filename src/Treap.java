@@ -0,0 +1,136 @@
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Treap: árvore binária de busca pelas chaves e heap máximo por prioridades sorteadas.
+ * Como as prioridades são aleatórias, a forma da árvore é a de uma árvore construída em ordem aleatória,
+ * com altura esperada O(log n) independentemente da ordem das inserções.
+ * Cada inserção faz, em média, menos de duas rotações, e nenhuma informação de altura precisa ser mantida.
+ */
+public class Treap<K, V> extends ABB<K, V> {
+
+	private static class NoTreap<K, V> extends No<K, V> {
+		private final int prioridade;
+
+		private NoTreap(K chave, V item, int prioridade) {
+			super(chave, item);
+			this.prioridade = prioridade;
+		}
+	}
+
+	private final Comparator<K> comparador;
+	private final Random sorteio;
+
+	/**
+	 * Construtor da classe.
+	 * O comparador padrão de ordem natural será utilizado.
+	 */
+	@SuppressWarnings("unchecked")
+	public Treap() {
+		this((Comparator<K>) Comparator.naturalOrder());
+	}
+
+	/**
+	 * Construtor da classe.
+	 * Esse construtor cria uma nova treap vazia.
+	 * @param comparador o comparador a ser utilizado para organizar os elementos da árvore.
+	 */
+	public Treap(Comparator<K> comparador) {
+		this(comparador, new Random());
+	}
+
+	/**
+	 * Construtor da classe, com sorteio de prioridades reprodutível.
+	 * @param comparador o comparador a ser utilizado para organizar os elementos da árvore.
+	 * @param sorteio gerador das prioridades dos nós.
+	 */
+	public Treap(Comparator<K> comparador, Random sorteio) {
+		super(comparador);
+		this.comparador = comparador;
+		this.sorteio = sorteio;
+	}
+
+	@Override
+	protected No<K, V> criarNo(K chave, V item) {
+		return new NoTreap<>(chave, item, sorteio.nextInt());
+	}
+
+	private static int prioridade(No<?, ?> no) {
+		return (no == null) ? Integer.MIN_VALUE : ((NoTreap<?, ?>) no).prioridade;
+	}
+
+	/**
+	 * Insere os itens do lote um a um, em ordem de chave: a junção de sub-árvores usada por {@link ABB#inserirLote}
+	 * não preserva as regras das prioridades dos nós.
+	 * Se uma chave já estiver na árvore, os itens do lote já inseridos são retirados.
+	 */
+	@Override
+	public int inserirLote(Collection<Entrada<K, V>> lote) {
+
+		Entrada<K, V>[] ordenadas = ordenarLote(lote);
+
+		for (int i = 0; i < ordenadas.length; i++) {
+			try {
+				inserir(ordenadas[i].getChave(), ordenadas[i].getValor());
+			} catch (IllegalArgumentException excecao) {
+				for (int j = 0; j < i; j++)
+					remover(ordenadas[j].getChave());
+				throw excecao;
+			}
+		}
+		return tamanho();
+	}
+
+	/**
+	 * Método recursivo responsável por adicionar um item à árvore.
+	 * O novo nó é inserido como folha e sobe por rotações enquanto sua prioridade for maior do que a do pai.
+	 * @return a raiz atualizada da sub-árvore em que o item foi adicionado.
+	 */
+	@Override
+	protected No<K, V> inserir(No<K, V> raizArvore, K chave, V item) {
+
+		raizArvore = super.inserir(raizArvore, chave, item);
+
+		if (prioridade(raizArvore.getEsquerda()) > prioridade(raizArvore))
+			raizArvore = rotacionarDireita(raizArvore);
+		else if (prioridade(raizArvore.getDireita()) > prioridade(raizArvore))
+			raizArvore = rotacionarEsquerda(raizArvore);
+		return raizArvore;
+	}
+
+	/**
+	 * Método recursivo responsável por localizar um item na árvore e retirá-lo da árvore.
+	 * O nó localizado desce por rotações, sempre trocando de lugar com o filho de maior prioridade,
+	 * até ter no máximo um filho, quando é retirado.
+	 * @return a raiz atualizada da sub-árvore da qual o item foi retirado.
+	 */
+	@Override
+	protected No<K, V> remover(No<K, V> raizArvore, K chaveRemover) {
+
+		int comparacao;
+
+		if (raizArvore == null)
+			throw new NoSuchElementException("O item a ser removido não foi localizado na árvore!");
+
+		comparacao = comparador.compare(chaveRemover, raizArvore.getChave());
+
+		if (comparacao < 0) {
+			raizArvore.setEsquerda(remover(raizArvore.getEsquerda(), chaveRemover));
+		} else if (comparacao > 0) {
+			raizArvore.setDireita(remover(raizArvore.getDireita(), chaveRemover));
+		} else if (raizArvore.getEsquerda() == null) {
+			raizArvore = raizArvore.getDireita();
+		} else if (raizArvore.getDireita() == null) {
+			raizArvore = raizArvore.getEsquerda();
+		} else if (prioridade(raizArvore.getEsquerda()) > prioridade(raizArvore.getDireita())) {
+			raizArvore = rotacionarDireita(raizArvore);
+			raizArvore.setDireita(remover(raizArvore.getDireita(), chaveRemover));
+		} else {
+			raizArvore = rotacionarEsquerda(raizArvore);
+			raizArvore.setEsquerda(remover(raizArvore.getEsquerda(), chaveRemover));
+		}
+		return raizArvore;
+	}
+}
@@ -0,0 +1,101 @@
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Totais de vendas de um produto, atualizados incrementalmente a cada inclusão do produto em um pedido.
+ * Permite responder, em tempo constante, quantas unidades foram vendidas, em quantos pedidos,
+ * qual a receita obtida e quando ocorreram a primeira e a última venda.
+ */
+public class VendasProduto {
+
+	private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+	private final Produto produto;
+
+	/** Quantidade de unidades do produto incluídas em pedidos */
+	private int unidadesVendidas;
+
+	/** Quantidade de pedidos distintos que contêm o produto */
+	private int quantPedidos;
+
+	/** Soma do valor pago por todas as unidades vendidas: o valor de venda no momento de cada venda, com o desconto à vista do pedido */
+	private double receita;
+
+	private LocalDate primeiraVenda;
+	private LocalDate ultimaVenda;
+
+	/** Identificador do último pedido registrado, usado para não contar o mesmo pedido duas vezes */
+	private int ultimoPedido;
+
+	public VendasProduto(Produto produto) {
+		this.produto = produto;
+		unidadesVendidas = 0;
+		quantPedidos = 0;
+		receita = 0.0;
+		ultimoPedido = -1;
+	}
+
+	/**
+	 * Registra a venda de uma unidade do produto no pedido informado.
+	 * Unidades repetidas do produto em um mesmo pedido contam apenas uma vez na quantidade de pedidos.
+	 * @param pedido Pedido em que o produto foi incluído.
+	 * @throws IllegalArgumentException caso o produto seja um perecível vencido; nenhum total é alterado.
+	 */
+	public void registrarVenda(Pedido pedido) {
+
+		LocalDate data = pedido.getDataPedido();
+		/// O preço vem antes dos contadores: um perecível vencido recusa a venda sem deixar totais pela metade.
+		double valorPago = pedido.aplicarDesconto(produto.valorDeVenda());
+
+		unidadesVendidas++;
+		receita += valorPago;
+
+		if (pedido.getIdPedido() != ultimoPedido) {
+			quantPedidos++;
+			ultimoPedido = pedido.getIdPedido();
+		}
+
+		if (primeiraVenda == null || data.isBefore(primeiraVenda))
+			primeiraVenda = data;
+		if (ultimaVenda == null || data.isAfter(ultimaVenda))
+			ultimaVenda = data;
+	}
+
+	public Produto getProduto() {
+		return produto;
+	}
+
+	public int getUnidadesVendidas() {
+		return unidadesVendidas;
+	}
+
+	public int getQuantPedidos() {
+		return quantPedidos;
+	}
+
+	public double getReceita() {
+		return receita;
+	}
+
+	public LocalDate getPrimeiraVenda() {
+		return primeiraVenda;
+	}
+
+	public LocalDate getUltimaVenda() {
+		return ultimaVenda;
+	}
+
+	@Override
+	public String toString() {
+
+		StringBuilder dados = new StringBuilder();
+
+		dados.append("Unidades vendidas: " + unidadesVendidas + " em " + quantPedidos + " pedidos\n");
+		dados.append("Receita: R$ " + String.format("%.2f", receita) + "\n");
+		if (primeiraVenda != null)
+			dados.append("Primeira venda: " + FORMATO_DATA.format(primeiraVenda)
+					+ " | Última venda: " + FORMATO_DATA.format(ultimaVenda) + "\n");
+
+		return dados.toString();
+	}
+}